@@ -0,0 +1,540 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.UUID;
+
+/**
+ * Column-per-field store of a snapshot's documents, addressed by the same document ids as its indexes.
+ * <ul>
+ *     <li>ids as two {@code long} columns, plus the original text for ids that are not canonical UUIDs</li>
+ *     <li>salary and age as {@code int} columns, {@link #NONE} standing for a missing value</li>
+ *     <li>titles dictionary-encoded, since a roster has few distinct ones</li>
+ *     <li>names and emails as UTF-8 packed into one byte array per column</li>
+ * </ul>
+ * A roster is a fixed number of primitive arrays rather than seven objects per employee; {@link Employee} beans are
+ * only created by {@link #employee(int)}, when a response is written. Ids are found through an open-addressing table
+ * of document ids, so lookups do not box either.
+ * <p>
+ * Each instance is an immutable view: the first {@link #size()} documents of a storage it shares with the views it was
+ * derived from, with the removals up to its own generation. {@link #plus} appends a document and {@link #minus} stamps
+ * a tombstone with the next generation, both in place and in amortized constant time, since no other view reads past
+ * its size or generation. That only holds for the newest view of a storage; deriving from an older one copies the
+ * documents it sees into a storage of its own first.
+ */
+final class EmployeeColumns {
+
+    /** Stored in the salary and age columns for employees without one; the value itself is never a salary. */
+    static final int NONE = Integer.MIN_VALUE;
+
+    private static final int NO_TITLE = -1;
+    private static final int LIVE = 0;
+    private static final EmployeeColumns EMPTY = of(List.of());
+
+    private final Storage storage;
+    private final Block block;
+    private final int size;
+    private final int generation;
+    private final int removedCount;
+
+    private EmployeeColumns(Storage storage, Block block, int size, int generation, int removedCount) {
+        this.storage = storage;
+        this.block = block;
+        this.size = size;
+        this.generation = generation;
+        this.removedCount = removedCount;
+    }
+
+    static EmployeeColumns empty() {
+        return EMPTY;
+    }
+
+    /** Columns holding {@code employees} as documents {@code 0..n-1}. */
+    static EmployeeColumns of(List<Employee> employees) {
+        Storage storage = new Storage(Block.allocate(employees.size()), 0, 0);
+        for (Employee employee : employees) {
+            storage.store(employee);
+        }
+        // one pass over the id table once every id is in place, rather than a scattered write per document
+        storage.rehash();
+        return storage.view(0);
+    }
+
+    /** Documents, including removed ones; the next document id. */
+    int size() {
+        return size;
+    }
+
+    /** Documents that are not tombstones. */
+    int liveCount() {
+        return size - removedCount;
+    }
+
+    boolean isRemoved(int doc) {
+        int removedAt = block.removedAt[doc];
+        return removedAt != LIVE && removedAt <= generation;
+    }
+
+    /** Live document with the given id, the last one appended if there are several, or -1 */
+    int doc(UUID id) {
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        int[] slots = block.idSlots;
+        int mask = slots.length - 1;
+        int found = -1;
+        for (int slot = hash(high, low) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int doc = slots[slot] - 1;
+            // the table may already hold documents appended after this view
+            if (doc < size && doc > found && block.idHigh[doc] == high && block.idLow[doc] == low && !isRemoved(doc)) {
+                found = doc;
+            }
+        }
+        return found;
+    }
+
+    /** A new bean with the document's fields, or null for a removed document */
+    Employee employee(int doc) {
+        if (isRemoved(doc)) {
+            return null;
+        }
+        Employee employee = new Employee();
+        employee.setId(id(doc));
+        employee.setEmployeeName(block.names.get(doc));
+        employee.setEmployeeSalary(boxed(block.salaries[doc]));
+        employee.setEmployeeAge(boxed(block.ages[doc]));
+        int title = block.titles[doc];
+        employee.setEmployeeTitle(title == NO_TITLE ? null : block.titleDictionary[title]);
+        employee.setEmployeeEmail(block.emails.get(doc));
+        return employee;
+    }
+
+    String name(int doc) {
+        return block.names.get(doc);
+    }
+
+    /** Salary of the document, {@link #NONE} if it has none */
+    int salary(int doc) {
+        return block.salaries[doc];
+    }
+
+    /** Every document's name, decoded on access; for building the name index */
+    List<String> names() {
+        return new DecodingList(block.names, size);
+    }
+
+    /** Every document's salary, for building the salary index */
+    int[] salaries() {
+        return Arrays.copyOf(block.salaries, size);
+    }
+
+    /** Columns with {@code employee} appended as document {@link #size()}. */
+    EmployeeColumns plus(Employee employee) {
+        synchronized (storage) {
+            Storage target = storage.isHead(this) ? storage : storage.fork(this);
+            target.append(employee);
+            return target.view(removedCount);
+        }
+    }
+
+    /** Columns with {@code doc} removed. */
+    EmployeeColumns minus(int doc) {
+        if (isRemoved(doc)) {
+            return this;
+        }
+        synchronized (storage) {
+            Storage target = storage.isHead(this) ? storage : storage.fork(this);
+            target.remove(doc);
+            return target.view(removedCount + 1);
+        }
+    }
+
+    private String id(int doc) {
+        String raw = block.rawIds.get(doc);
+        if (raw != null || !block.hasUuid[doc]) {
+            return raw;
+        }
+        return new UUID(block.idHigh[doc], block.idLow[doc]).toString();
+    }
+
+    /** Points a free slot at {@code doc}; earlier documents with its id keep theirs, for the views that see them. */
+    private static void insert(int[] slots, long[] high, long[] low, int doc) {
+        int mask = slots.length - 1;
+        int slot = hash(high[doc], low[doc]) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = doc + 1;
+    }
+
+    /** Power of two keeping the table at most half full, so probes stay short and always reach a free slot. */
+    private static int tableCapacity(int entries) {
+        int capacity = 2;
+        while (capacity < entries * 2 + 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(long high, long low) {
+        long mixed = (high ^ Long.rotateLeft(low, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32);
+    }
+
+    private static UUID parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static boolean isCanonical(UUID uuid, String id) {
+        return uuid != null && uuid.toString().equals(id);
+    }
+
+    private static int unboxed(Integer value) {
+        return value == null ? NONE : value;
+    }
+
+    private static Integer boxed(int value) {
+        return value == NONE ? null : value;
+    }
+
+    /**
+     * The documents every view of one lineage reads from. Only the newest view writes, under the storage's monitor,
+     * and only past what older views can see: beyond their size, or tombstones newer than their generation.
+     */
+    private static final class Storage {
+
+        private Block block;
+        private int length;
+        private int generation;
+        private int idEntries;
+        private final Map<String, Integer> titleCodes = new HashMap<>();
+
+        private Storage(Block block, int length, int generation) {
+            this.block = block;
+            this.length = length;
+            this.generation = generation;
+            for (int code = 0; code < block.titleDictionary.length && block.titleDictionary[code] != null; code++) {
+                titleCodes.put(block.titleDictionary[code], code);
+            }
+        }
+
+        EmployeeColumns view(int removedCount) {
+            return new EmployeeColumns(this, block, length, generation, removedCount);
+        }
+
+        boolean isHead(EmployeeColumns view) {
+            return view.size == length && view.generation == generation;
+        }
+
+        /** A storage of its own holding exactly what {@code view} sees. */
+        Storage fork(EmployeeColumns view) {
+            Storage fork = new Storage(view.block.copy(view.size, view.generation), view.size, view.generation);
+            fork.rehash();
+            return fork;
+        }
+
+        void append(Employee employee) {
+            int doc = store(employee);
+            if (block.hasUuid[doc]) {
+                if (tableCapacity(idEntries + 1) > block.idSlots.length) {
+                    rehash();
+                } else {
+                    insert(block.idSlots, block.idHigh, block.idLow, doc);
+                    idEntries++;
+                }
+            }
+        }
+
+        /** Writes {@code employee} as the next document, leaving its id out of the table; returns the document id. */
+        int store(Employee employee) {
+            int doc = length;
+            Block grown = doc < block.capacity() ? block : block.grown(Math.max(8, doc * 2));
+            UUID uuid = parseId(employee.getId());
+            grown.hasUuid[doc] = uuid != null;
+            if (uuid != null) {
+                grown.idHigh[doc] = uuid.getMostSignificantBits();
+                grown.idLow[doc] = uuid.getLeastSignificantBits();
+            }
+            grown.salaries[doc] = unboxed(employee.getEmployeeSalary());
+            grown.ages[doc] = unboxed(employee.getEmployeeAge());
+
+            String[] dictionary = grown.titleDictionary;
+            int title = NO_TITLE;
+            if (employee.getEmployeeTitle() != null) {
+                Integer code = titleCodes.get(employee.getEmployeeTitle());
+                if (code == null) {
+                    code = titleCodes.size();
+                    if (code == dictionary.length) {
+                        dictionary = Arrays.copyOf(dictionary, Math.max(4, code * 2));
+                    }
+                    dictionary[code] = employee.getEmployeeTitle();
+                    titleCodes.put(employee.getEmployeeTitle(), code);
+                }
+                title = code;
+            }
+            grown.titles[doc] = title;
+
+            block = grown.with(
+                    grown.rawIds.with(doc, isCanonical(uuid, employee.getId()) ? null : employee.getId()),
+                    grown.names.with(doc, employee.getEmployeeName()),
+                    grown.emails.with(doc, employee.getEmployeeEmail()),
+                    dictionary,
+                    grown.idSlots);
+            length = doc + 1;
+            return doc;
+        }
+
+        void remove(int doc) {
+            block.removedAt[doc] = ++generation;
+        }
+
+        /** A fresh id table for the live documents, which is all that views from here on can find. */
+        void rehash() {
+            int live = 0;
+            for (int doc = 0; doc < length; doc++) {
+                if (block.hasUuid[doc] && block.removedAt[doc] == LIVE) {
+                    live++;
+                }
+            }
+            int[] slots = new int[tableCapacity(live)];
+            for (int doc = 0; doc < length; doc++) {
+                if (block.hasUuid[doc] && block.removedAt[doc] == LIVE) {
+                    insert(slots, block.idHigh, block.idLow, doc);
+                }
+            }
+            block = block.with(block.rawIds, block.names, block.emails, block.titleDictionary, slots);
+            idEntries = live;
+        }
+    }
+
+    /**
+     * One generation of column arrays, with room to append. The references never change, so a view holding a block
+     * sees every array as it was published; growing any of them makes a new block.
+     */
+    private static final class Block {
+
+        private final boolean[] hasUuid;
+        private final long[] idHigh;
+        private final long[] idLow;
+        private final StringColumn rawIds;
+        private final int[] idSlots;
+        private final StringColumn names;
+        private final int[] salaries;
+        private final int[] ages;
+        private final String[] titleDictionary;
+        private final int[] titles;
+        private final StringColumn emails;
+
+        /** Generation at which each document was removed, {@link #LIVE} while it is not. */
+        private final int[] removedAt;
+
+        private Block(
+                boolean[] hasUuid,
+                long[] idHigh,
+                long[] idLow,
+                StringColumn rawIds,
+                int[] idSlots,
+                StringColumn names,
+                int[] salaries,
+                int[] ages,
+                String[] titleDictionary,
+                int[] titles,
+                StringColumn emails,
+                int[] removedAt) {
+            this.hasUuid = hasUuid;
+            this.idHigh = idHigh;
+            this.idLow = idLow;
+            this.rawIds = rawIds;
+            this.idSlots = idSlots;
+            this.names = names;
+            this.salaries = salaries;
+            this.ages = ages;
+            this.titleDictionary = titleDictionary;
+            this.titles = titles;
+            this.emails = emails;
+            this.removedAt = removedAt;
+        }
+
+        static Block allocate(int capacity) {
+            capacity = Math.max(8, capacity);
+            return new Block(
+                    new boolean[capacity],
+                    new long[capacity],
+                    new long[capacity],
+                    StringColumn.allocate(capacity, 0),
+                    new int[2],
+                    StringColumn.allocate(capacity, 16),
+                    new int[capacity],
+                    new int[capacity],
+                    new String[0],
+                    new int[capacity],
+                    StringColumn.allocate(capacity, 24),
+                    new int[capacity]);
+        }
+
+        int capacity() {
+            return removedAt.length;
+        }
+
+        /** Room for {@code capacity} documents; the id table and dictionary are shared, they grow on their own. */
+        Block grown(int capacity) {
+            return new Block(
+                    Arrays.copyOf(hasUuid, capacity),
+                    Arrays.copyOf(idHigh, capacity),
+                    Arrays.copyOf(idLow, capacity),
+                    rawIds.grown(capacity),
+                    idSlots,
+                    names.grown(capacity),
+                    Arrays.copyOf(salaries, capacity),
+                    Arrays.copyOf(ages, capacity),
+                    titleDictionary,
+                    Arrays.copyOf(titles, capacity),
+                    emails.grown(capacity),
+                    Arrays.copyOf(removedAt, capacity));
+        }
+
+        /** Unshared copy of the first {@code size} documents as of {@code generation}; the id table is left empty. */
+        Block copy(int size, int generation) {
+            int capacity = Math.max(8, size + (size >> 1));
+            int[] removals = Arrays.copyOf(removedAt, capacity);
+            for (int doc = 0; doc < size; doc++) {
+                if (removals[doc] > generation) {
+                    removals[doc] = LIVE;
+                }
+            }
+            Arrays.fill(removals, size, capacity, LIVE);
+            return new Block(
+                    Arrays.copyOf(hasUuid, capacity),
+                    Arrays.copyOf(idHigh, capacity),
+                    Arrays.copyOf(idLow, capacity),
+                    rawIds.copy(size, capacity),
+                    new int[2],
+                    names.copy(size, capacity),
+                    Arrays.copyOf(salaries, capacity),
+                    Arrays.copyOf(ages, capacity),
+                    titleDictionary.clone(),
+                    Arrays.copyOf(titles, capacity),
+                    emails.copy(size, capacity),
+                    removals);
+        }
+
+        Block with(StringColumn rawIds, StringColumn names, StringColumn emails, String[] dictionary, int[] slots) {
+            if (rawIds == this.rawIds
+                    && names == this.names
+                    && emails == this.emails
+                    && dictionary == titleDictionary
+                    && slots == idSlots) {
+                return this;
+            }
+            return new Block(
+                    hasUuid,
+                    idHigh,
+                    idLow,
+                    rawIds,
+                    slots,
+                    names,
+                    salaries,
+                    ages,
+                    dictionary,
+                    titles,
+                    emails,
+                    removedAt);
+        }
+    }
+
+    /**
+     * Strings packed as UTF-8 into one array; {@code ends[doc]} is where the document's bytes stop, bitwise inverted
+     * for a null.
+     */
+    private static final class StringColumn {
+
+        private final byte[] bytes;
+        private final int[] ends;
+
+        private StringColumn(byte[] bytes, int[] ends) {
+            this.bytes = bytes;
+            this.ends = ends;
+        }
+
+        static StringColumn allocate(int capacity, int bytesPerValue) {
+            return new StringColumn(new byte[capacity * bytesPerValue], new int[capacity]);
+        }
+
+        String get(int doc) {
+            int end = ends[doc];
+            if (end < 0) {
+                return null;
+            }
+            int start = start(doc);
+            return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+        }
+
+        /** Sets {@code doc}, the next document, in place; a new column only if the bytes had to grow. */
+        StringColumn with(int doc, String value) {
+            int start = start(doc);
+            if (value == null) {
+                ends[doc] = ~start;
+                return this;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            byte[] target = bytes;
+            if (start + utf8.length > target.length) {
+                target = Arrays.copyOf(bytes, Math.max(bytes.length * 2, start + utf8.length));
+            }
+            System.arraycopy(utf8, 0, target, start, utf8.length);
+            ends[doc] = start + utf8.length;
+            return target == bytes ? this : new StringColumn(target, ends);
+        }
+
+        StringColumn grown(int capacity) {
+            return new StringColumn(bytes, Arrays.copyOf(ends, capacity));
+        }
+
+        StringColumn copy(int size, int capacity) {
+            byte[] used = Arrays.copyOf(bytes, Math.max(16, start(size) * 3 / 2));
+            return new StringColumn(used, Arrays.copyOf(ends, capacity));
+        }
+
+        private int start(int doc) {
+            if (doc == 0) {
+                return 0;
+            }
+            int previous = ends[doc - 1];
+            return previous < 0 ? ~previous : previous;
+        }
+    }
+
+    /** Read-only view decoding one column entry per access. */
+    private static final class DecodingList extends AbstractList<String> implements RandomAccess {
+
+        private final StringColumn column;
+        private final int size;
+
+        private DecodingList(StringColumn column, int size) {
+            this.column = column;
+            this.size = size;
+        }
+
+        @Override
+        public String get(int index) {
+            return column.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
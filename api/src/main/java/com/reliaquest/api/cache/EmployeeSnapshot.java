@@ -0,0 +1,294 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Immutable view of the employee roster as loaded from the upstream at {@link #getLoadedAt()}, plus any writes
+ * applied on top of it since with {@link #with} and {@link #without}.
+ * <p>
+ * Every employee is a document: its row in the {@link EmployeeColumns}, which the name and salary indexes refer to.
+ * Employees handed out are materialized from the columns on access, so they are fresh copies, and
+ * {@link #getEmployees()} is a view that builds each one as it is read (typically while it is serialized). A patch
+ * appends the written employee to the columns and indexes the snapshot shares with its predecessor and marks the one it
+ * replaces as a tombstone, in amortized constant time whatever the roster size; queries skip tombstones until the next
+ * full load, or a compaction once they outnumber live employees.
+ */
+@Getter
+public final class EmployeeSnapshot {
+
+    private static final EmployeeSnapshot EMPTY = new EmployeeSnapshot(0, Instant.EPOCH, List.of());
+
+    private final long version;
+    private final Instant loadedAt;
+    private final List<Employee> employees;
+
+    /** Where the upstream's change feed stood when this roster was loaded; null if unknown. */
+    private final String cursor;
+
+    @Getter(AccessLevel.NONE)
+    private final EmployeeColumns columns;
+
+    @Getter(AccessLevel.NONE)
+    private final NameIndex names;
+
+    @Getter(AccessLevel.NONE)
+    private final SalaryIndex salaries;
+
+    /** {@link #highestSalary()}, worked out on first use; it is asked for on every request. */
+    @Getter(AccessLevel.NONE)
+    private volatile Integer highestSalary;
+
+    public EmployeeSnapshot(long version, Instant loadedAt, List<Employee> employees) {
+        this(version, loadedAt, employees, null);
+    }
+
+    public EmployeeSnapshot(long version, Instant loadedAt, List<Employee> employees, String cursor) {
+        this(version, loadedAt, cursor, EmployeeColumns.of(employees), null, null);
+    }
+
+    private EmployeeSnapshot(
+            long version,
+            Instant loadedAt,
+            String cursor,
+            EmployeeColumns columns,
+            NameIndex names,
+            SalaryIndex salaries) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.cursor = cursor;
+        this.columns = columns;
+        this.employees = new LiveDocuments(columns);
+        this.names = names != null ? names : NameIndex.build(columns.names());
+        this.salaries = salaries != null ? salaries : SalaryIndex.build(columns.salaries());
+    }
+
+    /** Placeholder served when no roster has ever been loaded; never cached. */
+    public static EmployeeSnapshot empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    /** Employee with the given id, or null if it is not part of this snapshot */
+    public Employee findById(UUID id) {
+        int doc = columns.doc(id);
+        return doc < 0 ? null : columns.employee(doc);
+    }
+
+    /** Employees whose name contains {@code fragment} ignoring case, in roster order */
+    public List<Employee> searchByName(String fragment) {
+        int[] matches = names.search(fragment);
+        List<Employee> found = new ArrayList<>(matches.length);
+        for (int doc : matches) {
+            if (!columns.isRemoved(doc)) {
+                found.add(columns.employee(doc));
+            }
+        }
+        return found;
+    }
+
+    /** Highest salary in the roster, 0 if none */
+    public int highestSalary() {
+        Integer highest = highestSalary;
+        if (highest == null) {
+            highest = salaries.highest(columns::isRemoved);
+            highestSalary = highest;
+        }
+        return highest;
+    }
+
+    /** Names of the {@code count} highest earners, highest first; employees without a salary are not ranked */
+    public List<String> topEarnerNames(int count) {
+        int[] ranked = salaries.top(count, columns::isRemoved);
+        List<String> topNames = new ArrayList<>(ranked.length);
+        for (int doc : ranked) {
+            topNames.add(columns.name(doc));
+        }
+        return topNames;
+    }
+
+    /** Copy at {@code version} with {@code employee} appended, replacing any employee with the same id */
+    public EmployeeSnapshot with(long version, Employee employee) {
+        Patch patch = new Patch(this);
+        patch.add(employee);
+        return patch.build(version, loadedAt, cursor);
+    }
+
+    /** Copy at {@code version} without the employee with the given id; this snapshot if there is none */
+    public EmployeeSnapshot without(long version, UUID id) {
+        Patch patch = new Patch(this);
+        return patch.remove(id) ? patch.build(version, loadedAt, cursor) : this;
+    }
+
+    /**
+     * Copy revalidated at {@code loadedAt} and {@code cursor}, with the upstream's {@code changes} since this
+     * snapshot's cursor applied. Changes are first collapsed to the last one per employee, so an employee that came
+     * and went costs nothing, and one already patched in identically (a write the api made itself) is left alone. The
+     * copy is at {@code version} if anything changed and keeps this snapshot's version otherwise, so whatever is
+     * derived per version stays valid.
+     * <p>
+     * What is left is applied in one pass: appended to and tombstoned in the shared columns and indexes, or, when it
+     * touches more than half the roster, rebuilt once into fresh columns, which is then the cheaper of the two.
+     */
+    public EmployeeSnapshot applying(long version, Instant loadedAt, List<EmployeeChange> changes, String cursor) {
+        // value null for a deletion
+        Map<UUID, Employee> latest = new LinkedHashMap<>();
+        for (EmployeeChange change : changes) {
+            UUID id = parseId(change.getId());
+            boolean created = change.getType() == EmployeeChange.Type.CREATED;
+            if (id == null || (created && change.getEmployee() == null)) {
+                continue;
+            }
+            latest.remove(id);
+            latest.put(id, created ? change.getEmployee() : null);
+        }
+
+        BitSet removed = new BitSet();
+        List<Employee> added = new ArrayList<>();
+        for (Map.Entry<UUID, Employee> change : latest.entrySet()) {
+            int doc = columns.doc(change.getKey());
+            Employee employee = change.getValue();
+            if (employee == null ? doc < 0 : employee.equals(doc < 0 ? null : columns.employee(doc))) {
+                continue;
+            }
+            if (doc >= 0) {
+                removed.set(doc);
+            }
+            if (employee != null) {
+                added.add(employee);
+            }
+        }
+        if (removed.isEmpty() && added.isEmpty()) {
+            return new EmployeeSnapshot(this.version, loadedAt, cursor, columns, names, salaries);
+        }
+
+        if (removed.cardinality() + added.size() > size() / 2) {
+            List<Employee> roster = new ArrayList<>(size() - removed.cardinality() + added.size());
+            for (int doc = 0; doc < columns.size(); doc++) {
+                if (!columns.isRemoved(doc) && !removed.get(doc)) {
+                    roster.add(columns.employee(doc));
+                }
+            }
+            roster.addAll(added);
+            return new EmployeeSnapshot(version, loadedAt, roster, cursor);
+        }
+        Patch patch = new Patch(this);
+        removed.stream().forEach(patch::remove);
+        added.forEach(patch::add);
+        return patch.build(version, loadedAt, cursor);
+    }
+
+    private static UUID parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /** Columns and indexes being derived from a snapshot, which itself is left as it is. */
+    private static final class Patch {
+
+        private EmployeeColumns columns;
+        private NameIndex names;
+        private SalaryIndex salaries;
+
+        private Patch(EmployeeSnapshot base) {
+            this.columns = base.columns;
+            this.names = base.names;
+            this.salaries = base.salaries;
+        }
+
+        /** Turns the employee with the given id into a tombstone; false if there is none. */
+        boolean remove(UUID id) {
+            int doc = columns.doc(id);
+            if (doc < 0) {
+                return false;
+            }
+            remove(doc);
+            return true;
+        }
+
+        void remove(int doc) {
+            columns = columns.minus(doc);
+        }
+
+        /** Appends {@code employee}, after removing any employee with its id. */
+        void add(Employee employee) {
+            UUID id = parseId(employee.getId());
+            if (id != null) {
+                remove(id);
+            }
+            int doc = columns.size();
+            columns = columns.plus(employee);
+            names = names.plus(doc, employee.getEmployeeName());
+            salaries = salaries.plus(doc, employee.getEmployeeSalary());
+        }
+
+        /** The patched snapshot, its live documents compacted into fresh columns once tombstones outnumber them. */
+        EmployeeSnapshot build(long version, Instant loadedAt, String cursor) {
+            if (columns.size() > 2 * columns.liveCount()) {
+                return new EmployeeSnapshot(version, loadedAt, new LiveDocuments(columns), cursor);
+            }
+            return new EmployeeSnapshot(version, loadedAt, cursor, columns, names, salaries);
+        }
+    }
+
+    /**
+     * The documents that are not tombstones, in roster order, materialized on each access. Where there are tombstones
+     * the live document ids are listed on first access, so a patch does not pay for a pass over the roster.
+     */
+    private static final class LiveDocuments extends AbstractList<Employee> implements RandomAccess {
+
+        private final EmployeeColumns columns;
+        private volatile int[] docs;
+
+        private LiveDocuments(EmployeeColumns columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public Employee get(int index) {
+            Objects.checkIndex(index, size());
+            return columns.employee(columns.liveCount() == columns.size() ? index : docs()[index]);
+        }
+
+        @Override
+        public int size() {
+            return columns.liveCount();
+        }
+
+        private int[] docs() {
+            int[] live = docs;
+            if (live == null) {
+                live = new int[columns.liveCount()];
+                int count = 0;
+                for (int doc = 0; count < live.length; doc++) {
+                    if (!columns.isRemoved(doc)) {
+                        live[count++] = doc;
+                    }
+                }
+                docs = live;
+            }
+            return live;
+        }
+    }
+}
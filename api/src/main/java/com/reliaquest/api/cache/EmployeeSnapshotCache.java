@@ -0,0 +1,311 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.UnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Single-entry stale-while-revalidate cache for the employee roster.
+ * <ul>
+ *     <li>younger than {@code refreshAfter}: served as is</li>
+ *     <li>younger than {@code expireAfter}: served as is while a background refresh runs</li>
+ *     <li>older, invalidated or absent: readers wait for a load</li>
+ * </ul>
+ * A failed load never replaces a good snapshot: readers keep getting the last one, and the upstream is left alone
+ * for {@code failureBackoff}. Concurrent loads are coalesced into one upstream call.
+ * <p>
+ * Writes the api made itself are patched into the current snapshot ({@link #added}, {@link #removed}) rather than
+ * throwing it away. Patches made while a load is running are replayed onto its result, so a roster read before the
+ * write cannot undo it.
+ * <p>
+ * A refresh of a snapshot that knows its upstream cursor asks the loader for the changes since then and applies them
+ * to the snapshot, so its cost follows the churn rather than the roster size; the loader may still answer with the
+ * full roster, and does for a first or forced load ({@link #invalidate()}), which pass it no cursor.
+ * <p>
+ * With {@code snapshotFile} set, every new version is also written to disk (off the caller's thread, coalescing
+ * versions published while a write is pending), and a cache created with a readable file starts out serving it, with
+ * its original load time, and revalidates it in the background.
+ * <p>
+ * Reads are counted as {@code employee.snapshot.requests} by {@code result} (hit, stale, miss), loads timed as
+ * {@code employee.snapshot.loads} by {@code kind} (full, delta), and the current snapshot's size, age and version are
+ * exposed as gauges.
+ */
+@Slf4j
+public class EmployeeSnapshotCache {
+
+    private final Function<String, Mono<RosterUpdate>> loader;
+    private final EmployeeCacheProperties properties;
+    private final Clock clock;
+    private final MeterRegistry registry;
+    private final SnapshotFile file;
+
+    private final AtomicReference<EmployeeSnapshot> current = new AtomicReference<>();
+    private final AtomicReference<Mono<EmployeeSnapshot>> inFlight = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicBoolean persistQueued = new AtomicBoolean();
+
+    /** Patches since the running load started; guarded by {@code this}. */
+    private final List<UnaryOperator<EmployeeSnapshot>> journal = new ArrayList<>();
+
+    private volatile boolean invalidated;
+    private volatile Instant retryNotBefore = Instant.MIN;
+    private volatile Throwable lastFailure;
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+
+    /** Cache over a loader that only ever returns the full roster. */
+    public EmployeeSnapshotCache(
+            Supplier<Mono<List<Employee>>> loader,
+            EmployeeCacheProperties properties,
+            Clock clock,
+            MeterRegistry registry) {
+        this(cursor -> loader.get().map(roster -> RosterUpdate.full(roster, null)), properties, clock, registry);
+    }
+
+    /**
+     * Cache over a loader given the cursor of the snapshot to refresh, or null when it has to load the full roster.
+     */
+    public EmployeeSnapshotCache(
+            Function<String, Mono<RosterUpdate>> loader,
+            EmployeeCacheProperties properties,
+            Clock clock,
+            MeterRegistry registry) {
+        this.loader = loader;
+        this.properties = properties;
+        this.clock = clock;
+        this.registry = registry;
+        this.file = properties.getSnapshotFile() == null ? null : new SnapshotFile(properties.getSnapshotFile());
+
+        this.hits = requests("hit");
+        this.staleHits = requests("stale");
+        this.misses = requests("miss");
+        Gauge.builder("employee.snapshot.size", this, cache -> cache.gauge(EmployeeSnapshot::size))
+                .register(registry);
+        Gauge.builder("employee.snapshot.age", this, cache -> cache.gauge(snapshot -> ageSeconds(snapshot, clock)))
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("employee.snapshot.version", this, cache -> cache.gauge(EmployeeSnapshot::getVersion))
+                .register(registry);
+
+        restore();
+    }
+
+    /** Current snapshot, loading or refreshing it as needed; errors only if nothing was ever loaded. */
+    public Mono<EmployeeSnapshot> get() {
+        EmployeeSnapshot snapshot = current.get();
+        if (snapshot == null || invalidated) {
+            misses.increment();
+            return load();
+        }
+        Duration age = Duration.between(snapshot.getLoadedAt(), clock.instant());
+        if (age.compareTo(properties.getRefreshAfter()) < 0) {
+            hits.increment();
+            return Mono.just(snapshot);
+        }
+        if (age.compareTo(properties.getExpireAfter()) < 0) {
+            staleHits.increment();
+            refresh();
+            return Mono.just(snapshot);
+        }
+        misses.increment();
+        return load();
+    }
+
+    /**
+     * True while readers are served a snapshot the latest load failed to replace (or nothing at all); cleared by the
+     * next successful load.
+     */
+    public boolean isStale() {
+        return current.get() == null || lastFailure != null;
+    }
+
+    /** Starts a background load unless one is already running or the upstream is backing off. */
+    public void refresh() {
+        load().subscribe(snapshot -> {}, ex -> {});
+    }
+
+    /** Forces the next read to reload, keeping the current snapshot as fallback should that fail. */
+    public void invalidate() {
+        invalidated = true;
+        retryNotBefore = Instant.MIN;
+    }
+
+    /** Adds (or replaces) an employee the upstream has confirmed creating. */
+    public void added(Employee employee) {
+        patch(snapshot -> snapshot.with(versions.incrementAndGet(), employee));
+    }
+
+    /** Drops an employee the upstream has confirmed deleting. */
+    public void removed(UUID id) {
+        patch(snapshot -> snapshot.without(versions.incrementAndGet(), id));
+    }
+
+    private synchronized void patch(UnaryOperator<EmployeeSnapshot> patch) {
+        if (inFlight.get() != null) {
+            journal.add(patch);
+        }
+        EmployeeSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            current.set(patch.apply(snapshot));
+            persist();
+        }
+    }
+
+    private Mono<EmployeeSnapshot> load() {
+        while (true) {
+            Mono<EmployeeSnapshot> pending = inFlight.get();
+            if (pending != null) {
+                return pending;
+            }
+            if (clock.instant().isBefore(retryNotBefore)) {
+                return fallback();
+            }
+            Mono<EmployeeSnapshot> candidate = Mono.defer(() -> {
+                        String cursor = startLoad();
+                        Timer.Sample sample = Timer.start(registry);
+                        return loader.apply(cursor)
+                                .map(update -> {
+                                    EmployeeSnapshot snapshot = publish(update);
+                                    sample.stop(loads(update.isFull() ? "full" : "delta", "success"));
+                                    return snapshot;
+                                })
+                                .doOnError(ex -> sample.stop(loads(cursor == null ? "full" : "delta", "failure")));
+                    })
+                    .onErrorResume(this::onLoadFailure)
+                    .doFinally(signal -> inFlight.set(null))
+                    .cache();
+            if (inFlight.compareAndSet(null, candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    /** Returns the cursor to load from: none without a snapshot to apply changes to, or when it is distrusted. */
+    private synchronized String startLoad() {
+        journal.clear();
+        EmployeeSnapshot snapshot = current.get();
+        return snapshot == null || invalidated ? null : snapshot.getCursor();
+    }
+
+    private synchronized EmployeeSnapshot publish(RosterUpdate update) {
+        long version = versions.incrementAndGet();
+        // changes apply to the current snapshot, journaled patches included; replaying those below is harmless
+        EmployeeSnapshot snapshot = update.isFull()
+                ? new EmployeeSnapshot(version, clock.instant(), update.getRoster(), update.getCursor())
+                : current.get().applying(version, clock.instant(), update.getChanges(), update.getCursor());
+        // writes confirmed while the roster was being read; it may or may not include them already
+        for (UnaryOperator<EmployeeSnapshot> patch : journal) {
+            snapshot = patch.apply(snapshot);
+        }
+        journal.clear();
+        current.set(snapshot);
+        invalidated = false;
+        lastFailure = null;
+        persist();
+        log.debug(
+                "Loaded employee snapshot v{} with {} employees from {}",
+                snapshot.getVersion(),
+                snapshot.size(),
+                update.isFull() ? "the full roster" : update.getChanges().size() + " changes");
+        return snapshot;
+    }
+
+    private Mono<EmployeeSnapshot> onLoadFailure(Throwable ex) {
+        lastFailure = ex;
+        retryNotBefore = clock.instant().plus(properties.getFailureBackoff());
+        log.warn("Employee snapshot load failed, backing off for {}: {}", properties.getFailureBackoff(), ex.toString());
+        return fallback();
+    }
+
+    /** Starts out from the snapshot on disk, if any, so the first readers after a restart do not all miss. */
+    private void restore() {
+        if (file == null) {
+            return;
+        }
+        file.read().ifPresent(snapshot -> {
+            versions.set(snapshot.getVersion());
+            current.set(snapshot);
+            log.info(
+                    "Restored employee snapshot v{} with {} employees loaded at {} from {}, revalidating",
+                    snapshot.getVersion(),
+                    snapshot.size(),
+                    snapshot.getLoadedAt(),
+                    file.getPath());
+            refresh();
+        });
+    }
+
+    private void persist() {
+        if (file == null || !persistQueued.compareAndSet(false, true)) {
+            return;
+        }
+        Schedulers.boundedElastic().schedule(() -> {
+            persistQueued.set(false);
+            // read under the file's lock so an older version can never overwrite a newer one
+            synchronized (file) {
+                EmployeeSnapshot snapshot = current.get();
+                try {
+                    file.write(snapshot);
+                    log.debug("Saved employee snapshot v{} to {}", snapshot.getVersion(), file.getPath());
+                } catch (IOException | RuntimeException ex) {
+                    log.warn("Could not save employee snapshot to {}: {}", file.getPath(), ex.toString());
+                }
+            }
+        });
+    }
+
+    private Counter requests(String result) {
+        return Counter.builder("employee.snapshot.requests")
+                .description("Roster snapshot reads by whether they were served from cache")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Timer loads(String kind, String outcome) {
+        return Timer.builder("employee.snapshot.loads")
+                .description("Roster loads from the upstream, in full or as the changes since the last one")
+                .tag("kind", kind)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private double gauge(ToDoubleFunction<EmployeeSnapshot> value) {
+        EmployeeSnapshot snapshot = current.get();
+        return snapshot == null ? Double.NaN : value.applyAsDouble(snapshot);
+    }
+
+    private static double ageSeconds(EmployeeSnapshot snapshot, Clock clock) {
+        return Duration.between(snapshot.getLoadedAt(), clock.instant()).toMillis() / 1000.0;
+    }
+
+    private Mono<EmployeeSnapshot> fallback() {
+        EmployeeSnapshot stale = current.get();
+        if (stale != null) {
+            return Mono.just(stale);
+        }
+        Throwable failure = lastFailure;
+        return Mono.error(failure != null ? failure : new IllegalStateException("Employee snapshot unavailable"));
+    }
+}
@@ -0,0 +1,202 @@
+package com.reliaquest.api.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trigram inverted index over case-folded employee names, addressed by document id (the employee's position in its
+ * snapshot).
+ * <p>
+ * Substring queries of three or more characters intersect the posting lists of the query's trigrams and only verify
+ * the surviving candidates, so cost follows the number of matches rather than the roster size. Shorter queries have
+ * no selective trigram and fall back to a scan over the pre-folded names. Neither path allocates per employee.
+ * <p>
+ * Each instance is an immutable view of the first {@link #size()} documents of postings it shares with the views it was
+ * derived from. {@link #plus} appends to those postings in place, in amortized constant time per trigram, as no other
+ * view reads past its size; deriving from a view that is not the newest one copies it first. The index does not track
+ * removals: callers filter the documents they have removed out of the results.
+ */
+public final class NameIndex {
+
+    private static final int GRAM = 3;
+    private static final int[] NO_DOCS = new int[0];
+
+    private final Storage storage;
+    private final String[] foldedNames;
+    private final int size;
+
+    private NameIndex(Storage storage, String[] foldedNames, int size) {
+        this.storage = storage;
+        this.foldedNames = foldedNames;
+        this.size = size;
+    }
+
+    /** Index the given names; {@code names[doc]} may be null for documents without a name. */
+    public static NameIndex build(List<String> names) {
+        Storage storage = new Storage(names.size());
+        for (int doc = 0; doc < names.size(); doc++) {
+            storage.append(doc, names.get(doc));
+        }
+        return storage.view();
+    }
+
+    /** Indexed documents; the next document id. */
+    public int size() {
+        return size;
+    }
+
+    /** Document ids, ascending, whose name contains {@code fragment} ignoring case. */
+    public int[] search(String fragment) {
+        String query = fold(fragment);
+        if (query == null) {
+            return NO_DOCS;
+        }
+        if (query.length() < GRAM) {
+            return scan(query);
+        }
+
+        List<int[]> lists = new ArrayList<>(query.length() - GRAM + 1);
+        List<Integer> ends = new ArrayList<>(query.length() - GRAM + 1);
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            Postings postings = storage.postings.get(trigram(query, i));
+            int[] docs = postings == null ? NO_DOCS : postings.docs;
+            int end = visible(docs);
+            if (end == 0) {
+                return NO_DOCS;
+            }
+            lists.add(docs);
+            ends.add(end);
+        }
+        int shortest = 0;
+        for (int i = 1; i < ends.size(); i++) {
+            if (ends.get(i) < ends.get(shortest)) {
+                shortest = i;
+            }
+        }
+
+        int[] candidates = lists.get(shortest);
+        int[] matches = new int[ends.get(shortest)];
+        int count = 0;
+        for (int c = 0; c < matches.length; c++) {
+            int doc = candidates[c];
+            if (inAll(doc, lists, ends) && foldedNames[doc].contains(query)) {
+                matches[count++] = doc;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /** Index with {@code name} added under {@code doc}, which must not be less than {@link #size()}. */
+    public NameIndex plus(int doc, String name) {
+        synchronized (storage) {
+            Storage target = storage.length == size ? storage : storage.fork(this);
+            target.append(doc, name);
+            return target.view();
+        }
+    }
+
+    private int[] scan(String query) {
+        int[] matches = new int[size];
+        int count = 0;
+        for (int doc = 0; doc < size; doc++) {
+            if (foldedNames[doc] != null && foldedNames[doc].contains(query)) {
+                matches[count++] = doc;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /** How many of the posted documents this view sees; the rest of the array is later documents or padding. */
+    private int visible(int[] docs) {
+        int at = Arrays.binarySearch(docs, size);
+        return at >= 0 ? at : -at - 1;
+    }
+
+    private static boolean inAll(int doc, List<int[]> lists, List<Integer> ends) {
+        for (int i = 0; i < lists.size(); i++) {
+            if (Arrays.binarySearch(lists.get(i), 0, ends.get(i), doc) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long trigram(String s, int at) {
+        return ((long) s.charAt(at) << 32) | ((long) s.charAt(at + 1) << 16) | s.charAt(at + 2);
+    }
+
+    private static String fold(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    /** Postings and folded names shared by every view of one lineage; only the newest view appends, under its lock. */
+    private static final class Storage {
+
+        private final Map<Long, Postings> postings = new ConcurrentHashMap<>();
+        private String[] foldedNames;
+        private int length;
+
+        private Storage(int capacity) {
+            this.foldedNames = new String[Math.max(8, capacity)];
+        }
+
+        NameIndex view() {
+            return new NameIndex(this, foldedNames, length);
+        }
+
+        /** A storage of its own holding exactly what {@code view} sees. */
+        Storage fork(NameIndex view) {
+            Storage fork = new Storage(view.size + (view.size >> 1));
+            for (int doc = 0; doc < view.size; doc++) {
+                fork.append(doc, view.foldedNames[doc]);
+            }
+            return fork;
+        }
+
+        void append(int doc, String name) {
+            if (doc >= foldedNames.length) {
+                foldedNames = Arrays.copyOf(foldedNames, Math.max(doc + 1, foldedNames.length * 2));
+            }
+            String folded = fold(name);
+            foldedNames[doc] = folded;
+            length = doc + 1;
+            if (folded == null) {
+                return;
+            }
+            for (int i = 0; i + GRAM <= folded.length(); i++) {
+                postings.computeIfAbsent(trigram(folded, i), gram -> new Postings()).add(doc);
+            }
+        }
+    }
+
+    /**
+     * Ascending documents holding one trigram. Unused entries are {@link Integer#MAX_VALUE}, so the whole array stays
+     * sorted and each view binary-searches its own end; documents arrive in order, so de-duplication only checks the
+     * tail.
+     */
+    private static final class Postings {
+
+        private volatile int[] docs = padded(NO_DOCS, 4);
+        private int count;
+
+        void add(int doc) {
+            if (count > 0 && docs[count - 1] == doc) {
+                return;
+            }
+            if (count == docs.length) {
+                docs = padded(docs, count * 2);
+            }
+            docs[count++] = doc;
+        }
+
+        private static int[] padded(int[] docs, int capacity) {
+            int[] grown = Arrays.copyOf(docs, capacity);
+            Arrays.fill(grown, docs.length, capacity, Integer.MAX_VALUE);
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.api.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived memory of keys the upstream recently reported as unknown, so repeated lookups for them don't spend the
+ * upstream's request budget. Bounded: once {@code maxEntries} is reached the whole set is dropped.
+ */
+public class NegativeCache<K> {
+
+    private final Map<K, Instant> expiries = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+
+    public NegativeCache(Duration ttl, int maxEntries, Clock clock) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    public boolean contains(K key) {
+        Instant expiry = expiries.get(key);
+        if (expiry == null) {
+            return false;
+        }
+        if (clock.instant().isBefore(expiry)) {
+            return true;
+        }
+        expiries.remove(key, expiry);
+        return false;
+    }
+
+    public void add(K key) {
+        if (expiries.size() >= maxEntries) {
+            expiries.clear();
+        }
+        expiries.put(key, clock.instant().plus(ttl));
+    }
+
+    public void remove(K key) {
+        expiries.remove(key);
+    }
+}
@@ -0,0 +1,34 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * What a roster load got from the upstream: either the full {@code roster}, or the {@code changes} (oldest first)
+ * since the cursor of the snapshot being refreshed. Either way {@code cursor} is where the upstream's change feed
+ * stood, null if the upstream did not say.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RosterUpdate {
+
+    private final List<Employee> roster;
+    private final List<EmployeeChange> changes;
+    private final String cursor;
+
+    public static RosterUpdate full(List<Employee> roster, String cursor) {
+        return new RosterUpdate(roster, null, cursor);
+    }
+
+    public static RosterUpdate changes(List<EmployeeChange> changes, String cursor) {
+        return new RosterUpdate(null, changes, cursor);
+    }
+
+    public boolean isFull() {
+        return roster != null;
+    }
+}
@@ -0,0 +1,152 @@
+package com.reliaquest.api.cache;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Salary order over a snapshot's documents, highest first and roster order among equal salaries.
+ * <p>
+ * Each entry is packed into one non-negative {@code long} (the salary inverted into an unsigned 32 bits above the
+ * document id in the low 31) so the order is a plain ascending sort with no boxing, the maximum is the first entry and
+ * the top k are a prefix. Any salary ranks, negative ones included, except {@link EmployeeColumns#NONE}: the columns
+ * store that value for a missing salary, and employees without a salary are not ranked.
+ * <p>
+ * Each instance is an immutable view: a sorted base, plus the first entries of an append log it shares with the views
+ * it was derived from. {@link #plus} appends to the log in place; once the log reaches a sixteenth of the base it is
+ * sorted and merged into a new one, so a patch costs amortized logarithmic time rather than a copy of the index. The
+ * index does not track removals: queries skip the documents the caller reports as removed.
+ */
+public final class SalaryIndex {
+
+    private static final int DOC_BITS = 31;
+    private static final long DOC_MASK = (1L << DOC_BITS) - 1;
+    private static final int MIN_LOG = 64;
+    private static final long[] NO_KEYS = new long[0];
+
+    private final long[] keys;
+    private final Log log;
+    private final long[] logged;
+    private final int logSize;
+
+    private SalaryIndex(long[] keys, Log log, long[] logged, int logSize) {
+        this.keys = keys;
+        this.log = log;
+        this.logged = logged;
+        this.logSize = logSize;
+    }
+
+    /** Index the given salaries; {@code salaries[doc]} is {@link EmployeeColumns#NONE} for documents without one. */
+    public static SalaryIndex build(int[] salaries) {
+        long[] keys = new long[salaries.length];
+        int count = 0;
+        for (int doc = 0; doc < salaries.length; doc++) {
+            if (salaries[doc] != EmployeeColumns.NONE) {
+                keys[count++] = key(salaries[doc], doc);
+            }
+        }
+        keys = Arrays.copyOf(keys, count);
+        Arrays.sort(keys);
+        return new SalaryIndex(keys, new Log(), NO_KEYS, 0);
+    }
+
+    /** Highest salary among the documents that are not {@code removed}, or 0 if none has one */
+    public int highest(IntPredicate removed) {
+        // keys are never negative
+        long best = -1;
+        for (long key : keys) {
+            if (!removed.test(doc(key))) {
+                best = key;
+                break;
+            }
+        }
+        for (int i = 0; i < logSize; i++) {
+            if ((best < 0 || logged[i] < best) && !removed.test(doc(logged[i]))) {
+                best = logged[i];
+            }
+        }
+        return best < 0 ? 0 : salary(best);
+    }
+
+    /** Document ids of the {@code k} highest earners that are not {@code removed}, highest first */
+    public int[] top(int k, IntPredicate removed) {
+        long[] appended = Arrays.copyOf(logged, logSize);
+        Arrays.sort(appended);
+        int[] docs = new int[Math.min(k, keys.length + appended.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (count < docs.length && (i < keys.length || j < appended.length)) {
+            long key = j == appended.length || (i < keys.length && keys[i] < appended[j]) ? keys[i++] : appended[j++];
+            if (!removed.test(doc(key))) {
+                docs[count++] = doc(key);
+            }
+        }
+        return count == docs.length ? docs : Arrays.copyOf(docs, count);
+    }
+
+    /** Index with {@code doc} ranked at {@code salary}; unchanged if it is null or {@link EmployeeColumns#NONE}. */
+    public SalaryIndex plus(int doc, Integer salary) {
+        if (salary == null || salary == EmployeeColumns.NONE) {
+            return this;
+        }
+        long key = key(salary, doc);
+        if (logSize >= Math.max(MIN_LOG, keys.length / 16)) {
+            return new SalaryIndex(merged(key), new Log(), NO_KEYS, 0);
+        }
+        synchronized (log) {
+            Log target = log.length == logSize ? log : log.fork(this);
+            target.append(key);
+            return new SalaryIndex(keys, target, target.keys, target.length);
+        }
+    }
+
+    /** The base and the log, plus {@code key}, as one sorted array. */
+    private long[] merged(long key) {
+        long[] appended = Arrays.copyOf(logged, logSize + 1);
+        appended[logSize] = key;
+        Arrays.sort(appended);
+        long[] merged = new long[keys.length + appended.length];
+        int i = 0;
+        int j = 0;
+        for (int at = 0; at < merged.length; at++) {
+            merged[at] = j == appended.length || (i < keys.length && keys[i] < appended[j]) ? keys[i++] : appended[j++];
+        }
+        return merged;
+    }
+
+    /** {@code Integer.MAX_VALUE - salary} is 0 to 2^32 - 1 for every salary, so it fits 32 unsigned bits exactly. */
+    private static long key(int salary, int doc) {
+        long inverted = (Integer.MAX_VALUE - salary) & 0xFFFFFFFFL;
+        return (inverted << DOC_BITS) | doc;
+    }
+
+    private static int salary(long key) {
+        return (int) (Integer.MAX_VALUE - (key >>> DOC_BITS));
+    }
+
+    private static int doc(long key) {
+        return (int) (key & DOC_MASK);
+    }
+
+    /** Keys appended since the base was sorted; only the newest view appends, under the log's monitor. */
+    private static final class Log {
+
+        private long[] keys = new long[MIN_LOG];
+        private int length;
+
+        /** A log of its own holding exactly what {@code view} sees. */
+        Log fork(SalaryIndex view) {
+            Log fork = new Log();
+            fork.keys = Arrays.copyOf(view.logged, Math.max(MIN_LOG, view.logSize * 2));
+            fork.length = view.logSize;
+            return fork;
+        }
+
+        void append(long key) {
+            if (length == keys.length) {
+                keys = Arrays.copyOf(keys, length * 2);
+            }
+            keys[length++] = key;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compact binary copy of an {@link EmployeeSnapshot} on local disk, so a restarted api can serve the roster it last
+ * knew instead of starting cold against a rate limited upstream.
+ * <p>
+ * Layout, big-endian: magic, format, snapshot version, load time (epoch millis), upstream cursor, employee count, then
+ * each employee's six fields (strings as length-prefixed UTF-8 with -1 for null, integers behind a presence byte),
+ * and finally a CRC32 of everything before it. Writes go to a temporary file that is atomically moved into place;
+ * reads map the file instead of streaming it. Keeping the cursor lets a restarted api catch up through the
+ * upstream's change feed rather than reloading the roster.
+ * <p>
+ * Only the documents are stored: the name and salary indexes are rebuilt from them on {@link #read()}, which is
+ * cheaper than keeping two index formats stable on disk.
+ */
+@Slf4j
+public final class SnapshotFile {
+
+    private static final int MAGIC = 0x454D504C; // "EMPL"
+    private static final int FORMAT = 2;
+
+    private final Path path;
+
+    public SnapshotFile(Path path) {
+        this.path = path.toAbsolutePath();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /** Replaces the stored snapshot with {@code snapshot}. */
+    public synchronized void write(EmployeeSnapshot snapshot) throws IOException {
+        List<Employee> employees = snapshot.getEmployees();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + employees.size() * 128);
+        CheckedOutputStream checked = new CheckedOutputStream(bytes, new CRC32());
+        DataOutputStream out = new DataOutputStream(checked);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT);
+        out.writeLong(snapshot.getVersion());
+        out.writeLong(snapshot.getLoadedAt().toEpochMilli());
+        writeString(out, snapshot.getCursor());
+        out.writeInt(employees.size());
+        for (Employee employee : employees) {
+            writeString(out, employee.getId());
+            writeString(out, employee.getEmployeeName());
+            writeInteger(out, employee.getEmployeeSalary());
+            writeInteger(out, employee.getEmployeeAge());
+            writeString(out, employee.getEmployeeTitle());
+            writeString(out, employee.getEmployeeEmail());
+        }
+        out.flush();
+        out.writeLong(checked.getChecksum().getValue());
+        out.flush();
+
+        Path directory = path.getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** The stored snapshot, or empty if there is none or it cannot be read back. */
+    public synchronized Optional<EmployeeSnapshot> read() {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return Optional.of(decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())));
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring unreadable employee snapshot {}: {}", path, ex.toString());
+            return Optional.empty();
+        }
+    }
+
+    private static EmployeeSnapshot decode(ByteBuffer buffer) throws IOException {
+        int end = buffer.limit() - Long.BYTES;
+        if (end < 0) {
+            throw new IOException("truncated file");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(end));
+        if (crc.getValue() != buffer.getLong(end)) {
+            throw new IOException("checksum mismatch");
+        }
+        buffer.limit(end);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+            throw new IOException("not an employee snapshot in format " + FORMAT);
+        }
+        long version = buffer.getLong();
+        Instant loadedAt = Instant.ofEpochMilli(buffer.getLong());
+        String cursor = readString(buffer);
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IOException("implausible employee count " + count);
+        }
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee();
+            employee.setId(readString(buffer));
+            employee.setEmployeeName(readString(buffer));
+            employee.setEmployeeSalary(readInteger(buffer));
+            employee.setEmployeeAge(readInteger(buffer));
+            employee.setEmployeeTitle(readString(buffer));
+            employee.setEmployeeEmail(readString(buffer));
+            employees.add(employee);
+        }
+        return new EmployeeSnapshot(version, loadedAt, employees, cursor);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(ByteBuffer buffer) {
+        return buffer.get() != 0 ? buffer.getInt() : null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "employee.batch")
+public class BatchProperties {
+
+    /**
+     * Batch items submitted to the upstream at once. The governor paces them to the request budget; this only caps
+     * how many sit in its queue, so a long batch does not time out waiting behind itself.
+     */
+    private int concurrency = 4;
+
+    /** Largest batch accepted in one request. */
+    private int maxSize = 1_000;
+}
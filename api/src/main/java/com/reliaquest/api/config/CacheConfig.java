@@ -1,20 +1,8 @@
 package com.reliaquest.api.config;
 
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
-import org.springframework.context.annotation.Bean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@EnableCaching
-public class CacheConfig {
-
-    @Bean
-    public CacheManager cacheManager() {
-        // You can add any cache names you want to use here
-        return new ConcurrentMapCacheManager(
-                "employeesAll"
-        );
-    }
-}
+@EnableConfigurationProperties(EmployeeCacheProperties.class)
+public class CacheConfig {}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "employee.cache")
+public class EmployeeCacheProperties {
+
+    /** Soft TTL: once a snapshot is this old, reads still get it but trigger a background refresh. */
+    private Duration refreshAfter = Duration.ofSeconds(30);
+
+    /** Hard TTL: once a snapshot is this old, reads wait for a refresh (and fall back to it if that fails). */
+    private Duration expireAfter = Duration.ofMinutes(5);
+
+    /** How long to stop calling the upstream after a failed load. */
+    private Duration failureBackoff = Duration.ofSeconds(5);
+
+    /** How long an id the upstream answered 404 for is reported as unknown without asking again. */
+    private Duration negativeTtl = Duration.ofSeconds(10);
+
+    /** Upper bound on remembered unknown ids. */
+    private int negativeMaxEntries = 10_000;
+
+    /** Where the roster snapshot is kept across restarts; not persisted if unset. */
+    private Path snapshotFile;
+}
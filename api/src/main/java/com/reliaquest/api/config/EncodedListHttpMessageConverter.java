@@ -0,0 +1,42 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.model.EncodedList;
+import java.io.IOException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/** Writes an {@link EncodedList} body as its stored JSON bytes; registered ahead of the Jackson converter. */
+public class EncodedListHttpMessageConverter extends AbstractHttpMessageConverter<EncodedList<?>> {
+
+    public EncodedListHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EncodedList.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EncodedList<?> readInternal(Class<? extends EncodedList<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Encoded lists are only written", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(EncodedList<?> list, MediaType contentType) {
+        return (long) list.getJson().length;
+    }
+
+    @Override
+    protected void writeInternal(EncodedList<?> list, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(list.getJson());
+    }
+}
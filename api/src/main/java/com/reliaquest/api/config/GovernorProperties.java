@@ -0,0 +1,32 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "employee.upstream.governor")
+public class GovernorProperties {
+
+    /** Requests per window assumed to be allowed until the upstream proves otherwise. */
+    private int initialLimit = 5;
+
+    /** Ceiling for the learned per-window limit. */
+    private int maxLimit = 10;
+
+    /** Lockout assumed to follow an exhausted window until probes prove otherwise. */
+    private Duration initialLockout = Duration.ofSeconds(30);
+
+    private Duration minLockout = Duration.ofSeconds(5);
+
+    private Duration maxLockout = Duration.ofSeconds(120);
+
+    /** Longest a write may queue for a permit before failing. */
+    private Duration writeMaxWait = Duration.ofSeconds(60);
+
+    /** Longest a snapshot load may queue for a permit before failing (and the stale snapshot being served). */
+    private Duration refreshMaxWait = Duration.ofSeconds(30);
+
+    /** Longest a speculative read may queue for a permit before failing. */
+    private Duration readMaxWait = Duration.ofSeconds(2);
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Circuit breaker and bulkhead settings, applied to each upstream operation (list, get, create, delete) separately. */
+@Data
+@ConfigurationProperties(prefix = "employee.upstream.resilience")
+public class ResilienceProperties {
+
+    /** Percentage of failed calls in the window that opens the circuit. */
+    private float failureRateThreshold = 50;
+
+    /** Most recent calls the failure rate is computed over. */
+    private int slidingWindowSize = 10;
+
+    /** Calls needed in the window before the failure rate is acted on. */
+    private int minimumNumberOfCalls = 5;
+
+    /** How long an open circuit rejects calls before letting trial calls through. */
+    private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+    /** Trial calls allowed while half open; all must succeed to close the circuit again. */
+    private int permittedCallsInHalfOpenState = 1;
+
+    /** Calls in flight (including those queued in the governor) per operation; the next one is rejected at once. */
+    private int maxConcurrentCalls = 10;
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "employee.upstream.transport")
+public class TransportProperties {
+
+    private String baseUrl = "http://localhost:8112/api/v1/employee";
+
+    /** Connections kept to the upstream at most. */
+    private int maxConnections = 50;
+
+    /** Idle connections are closed after this long. */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /** Requests allowed to wait for a pooled connection; beyond that they fail immediately. */
+    private int pendingAcquireMaxCount = 500;
+
+    /** Longest a request waits for a pooled connection. */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /** Longest the upstream may stay silent while a response is due, unless overridden in {@link #timeouts}. */
+    private Duration responseTimeout = Duration.ofSeconds(5);
+
+    /** Per-operation response timeouts (list, get, create, delete, changes) overriding {@link #responseTimeout}. */
+    private Map<String, Duration> timeouts = new HashMap<>();
+
+    /** Ask for gzip-compressed responses and decompress them. */
+    private boolean compression = true;
+
+    /** Offer HTTP/2 over cleartext (h2c), falling back to HTTP/1.1 where the upstream does not support it. */
+    private boolean h2c = false;
+
+    public Duration timeout(String operation) {
+        return timeouts.getOrDefault(operation, responseTimeout);
+    }
+}
@@ -1,14 +1,65 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.upstream.UpstreamGovernor;
+import com.reliaquest.api.upstream.UpstreamGuard;
+import com.reliaquest.api.upstream.UpstreamTimeoutFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import java.time.Clock;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
+@EnableConfigurationProperties({
+    GovernorProperties.class,
+    BatchProperties.class,
+    TransportProperties.class,
+    ResilienceProperties.class
+})
 public class WebClientConfig {
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(TransportProperties transport) {
+        return ConnectionProvider.builder("employee-upstream")
+                .maxConnections(transport.getMaxConnections())
+                .maxIdleTime(transport.getMaxIdleTime())
+                .pendingAcquireMaxCount(transport.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(transport.getPendingAcquireTimeout())
+                .evictInBackground(transport.getMaxIdleTime())
+                .build();
+    }
+
+    @Bean
+    public WebClient employeeClient(
+            WebClient.Builder builder, TransportProperties transport, ConnectionProvider upstreamConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) transport.getConnectTimeout().toMillis())
+                .responseTimeout(transport.getResponseTimeout())
+                .compress(transport.isCompression())
+                .protocol(
+                        transport.isH2c()
+                                ? new HttpProtocol[] {HttpProtocol.H2C, HttpProtocol.HTTP11}
+                                : new HttpProtocol[] {HttpProtocol.HTTP11});
+        return builder.baseUrl(transport.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(new UpstreamTimeoutFilter(transport))
+                .build();
+    }
+
+    @Bean
+    public UpstreamGovernor upstreamGovernor(GovernorProperties properties, MeterRegistry meterRegistry) {
+        return new UpstreamGovernor(properties, Clock.systemUTC(), Schedulers.parallel(), meterRegistry);
+    }
+
     @Bean
-    public WebClient employeeClient(WebClient.Builder builder) {
-        return builder.baseUrl("http://localhost:8112/api/v1/employee").build();
+    public UpstreamGuard upstreamGuard(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        return new UpstreamGuard(properties, meterRegistry);
     }
 }
@@ -1,14 +1,12 @@
 package com.reliaquest.api.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.reliaquest.api.model.CreateEmployeeDTO;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.EmployeeService;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -21,12 +19,15 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 public class EmployeeController implements IEmployeeController<Employee, CreateEmployeeDTO> {
 
+    private static final int TOP_EARNERS = 10;
+
     private final EmployeeService service;
 
     @Override
     public ResponseEntity<List<Employee>> getAllEmployees() {
         log.debug("Fetching all employees");
-        return ResponseEntity.ok(service.getAll());
+        List<Employee> list = service.getAll();
+        return ReadResponses.ok(list, service.isServingStale());
     }
 
     @Override
@@ -35,9 +36,9 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         List<Employee> list = service.searchByName(searchString);
         if((list == null || list.isEmpty())){
             log.debug("No employees found matching search string: {}", searchString);
-            return ResponseEntity.noContent().build();
+            return ReadResponses.status(HttpStatus.NO_CONTENT, service.isServingStale());
         } else {
-            return ResponseEntity.ok(list);
+            return ReadResponses.ok(list, service.isServingStale());
         }
     }
 
@@ -49,31 +50,26 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
             return ResponseEntity.badRequest().build();
         }
         Employee employee = service.getById(id);
-        return (employee == null) ? ResponseEntity.notFound().build() : ResponseEntity.ok(employee);
+        boolean stale = service.isServingStale();
+        return (employee == null)
+                ? ReadResponses.status(HttpStatus.NOT_FOUND, stale)
+                : ReadResponses.ok(employee, stale);
     }
 
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         log.debug("Calculating highest salary among employees");
-        int max = service.getAll().stream()
-                .map(Employee::getEmployeeSalary)
-                .filter(Objects::nonNull)
-                .max(Integer::compareTo)
-                .orElse(0);
+        int max = service.getHighestSalary();
 
-        return ResponseEntity.ok(max);
+        return ReadResponses.ok(max, service.isServingStale());
     }
 
     @Override
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
         log.debug("Fetching top ten highest earning employee names");
-        List<String> list = service.getAll().stream()
-                .sorted(Comparator.comparing(Employee::getEmployeeSalary).reversed())
-                .limit(10)
-                .map(Employee::getEmployeeName)
-                .toList();
+        List<String> list = service.getTopEarnerNames(TOP_EARNERS);
 
-        return ResponseEntity.ok(list);
+        return ReadResponses.ok(list, service.isServingStale());
     }
 
     @Override
@@ -84,18 +80,13 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
 
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
-        try {
-            Employee employee = service.getById(id);
-            if (service.delete(id)) {
-                log.info("Employee with name {} deleted successfully.", employee.getEmployeeName());
-                return ResponseEntity.ok(employee.getEmployeeName());
-            } else {
-                log.warn("Employee with id {} not found for deletion.", id);
-                return ResponseEntity.notFound().build();
-            }
-        } catch (JsonProcessingException e) {
-            log.warn(e.getMessage());
-            return ResponseEntity.badRequest().build();
+        String name = service.delete(id);
+        if (name != null) {
+            log.info("Employee with name {} deleted successfully.", name);
+            return ResponseEntity.ok(name);
+        } else {
+            log.warn("Employee with id {} not found for deletion.", id);
+            return ResponseEntity.notFound().build();
         }
     }
 }
@@ -0,0 +1,115 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.config.BatchProperties;
+import com.reliaquest.api.model.BatchCreateResult;
+import com.reliaquest.api.model.CreateEmployeeDTO;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same contract as {@link IEmployeeController}, served without blocking: handlers return the service's
+ * {@link Mono} and Spring MVC completes the request asynchronously, so no request thread is held while the upstream
+ * call (or its retry backoff) is outstanding.
+ */
+@RestController
+@RequestMapping("/v2/employee")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveEmployeeController {
+
+    private static final int TOP_EARNERS = 10;
+
+    private final ReactiveEmployeeService service;
+
+    private final BatchProperties batchProperties;
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        log.debug("Fetching all employees");
+        return service.getAll().map(this::ok);
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        log.debug("Searching employees by name with search string: {}", searchString);
+        return service.searchByName(searchString).map(list -> {
+            if (list.isEmpty()) {
+                log.debug("No employees found matching search string: {}", searchString);
+                return ReadResponses.status(HttpStatus.NO_CONTENT, service.isServingStale());
+            }
+            return ok(list);
+        });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        log.debug("Fetching employee by id: {}", id);
+        if (id == null || id.isBlank()) {
+            log.warn("Invalid employee id provided: {}", id);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return service.getById(id)
+                .map(this::ok)
+                .switchIfEmpty(Mono.fromSupplier(
+                        () -> ReadResponses.status(HttpStatus.NOT_FOUND, service.isServingStale())));
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        log.debug("Calculating highest salary among employees");
+        return service.getHighestSalary().map(this::ok);
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        log.debug("Fetching top ten highest earning employee names");
+        return service.getTopEarnerNames(TOP_EARNERS).map(this::ok);
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody CreateEmployeeDTO input) {
+        log.info("Creating new employee with name: {}", input.getName());
+        return service.create(input).map(ResponseEntity::ok);
+    }
+
+    /** Creates every employee in the list, streaming one NDJSON result line per item as it completes. */
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<BatchCreateResult>> createEmployees(@RequestBody List<CreateEmployeeDTO> inputs) {
+        if (inputs == null || inputs.isEmpty() || inputs.size() > batchProperties.getMaxSize()) {
+            log.warn("Rejecting batch of {} employees", inputs == null ? 0 : inputs.size());
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Creating batch of {} employees", inputs.size());
+        return ResponseEntity.ok(service.createAll(inputs));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return service.delete(id)
+                .map(name -> {
+                    log.info("Employee with name {} deleted successfully.", name);
+                    return ResponseEntity.ok(name);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /** 200 for a read, with an ETag where the body has one, marked stale if the roster could not be refreshed */
+    private <T> ResponseEntity<T> ok(T body) {
+        return ReadResponses.ok(body, service.isServingStale());
+    }
+}
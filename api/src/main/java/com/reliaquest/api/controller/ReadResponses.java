@@ -0,0 +1,42 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.EncodedList;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Responses of the read endpoints.
+ * <ul>
+ *     <li>Answers from a roster snapshot the upstream could not refresh carry {@code Warning: 110 - "Response is
+ *     Stale"}, so clients can tell last-known-good data from the current roster.</li>
+ *     <li>Pre-encoded lists and plain numbers get a strong ETag of their JSON; Spring MVC answers a matching
+ *     {@code If-None-Match} with 304 and no body.</li>
+ * </ul>
+ */
+final class ReadResponses {
+
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private ReadResponses() {}
+
+    static <T> ResponseEntity<T> ok(T body, boolean stale) {
+        ResponseEntity.BodyBuilder builder = builder(HttpStatus.OK, stale);
+        if (body instanceof EncodedList<?> encoded) {
+            builder.eTag(encoded.getETag());
+        } else if (body instanceof Integer number) {
+            builder.eTag(EncodedList.eTagOf(number.toString().getBytes(StandardCharsets.US_ASCII)));
+        }
+        return builder.body(body);
+    }
+
+    static <T> ResponseEntity<T> status(HttpStatus status, boolean stale) {
+        return builder(status, stale).build();
+    }
+
+    private static ResponseEntity.BodyBuilder builder(HttpStatus status, boolean stale) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        return stale ? builder.header(HttpHeaders.WARNING, STALE_WARNING) : builder;
+    }
+}
@@ -0,0 +1,21 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.UpstreamThrottledException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/** Writes the upstream could not take right now are answered with 503 instead of a generic 500. */
+@RestControllerAdvice
+@Slf4j
+public class UpstreamExceptionHandler {
+
+    @ExceptionHandler({UpstreamUnavailableException.class, UpstreamThrottledException.class})
+    public ResponseEntity<String> upstreamUnavailable(RuntimeException ex) {
+        log.warn("Upstream unavailable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+}
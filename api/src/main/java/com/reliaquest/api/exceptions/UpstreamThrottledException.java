@@ -0,0 +1,11 @@
+package com.reliaquest.api.exception;
+
+/**
+ * Thrown when a call to the upstream employee service is not attempted because its request budget is exhausted.
+ */
+public class UpstreamThrottledException extends RuntimeException {
+
+    public UpstreamThrottledException(String message) {
+        super(message);
+    }
+}
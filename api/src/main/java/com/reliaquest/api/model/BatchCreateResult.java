@@ -0,0 +1,35 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Outcome of one item of a batch create, identified by its position in the submitted list. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateResult {
+
+    public enum Status {
+        CREATED,
+        THROTTLED,
+        FAILED
+    }
+
+    private int index;
+    private Status status;
+    private Employee employee;
+    private String error;
+
+    public static BatchCreateResult created(int index, Employee employee) {
+        return new BatchCreateResult(index, Status.CREATED, employee, null);
+    }
+
+    public static BatchCreateResult throttled(int index, String error) {
+        return new BatchCreateResult(index, Status.THROTTLED, null, error);
+    }
+
+    public static BatchCreateResult failed(int index, String error) {
+        return new BatchCreateResult(index, Status.FAILED, null, error);
+    }
+}
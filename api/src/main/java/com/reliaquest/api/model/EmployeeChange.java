@@ -0,0 +1,17 @@
+package com.reliaquest.api.model;
+
+import lombok.Data;
+
+/** One roster change from the upstream's change feed; deletions carry only the id. */
+@Data
+public class EmployeeChange {
+    private long version;
+    private Type type;
+    private String id;
+    private Employee employee;
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
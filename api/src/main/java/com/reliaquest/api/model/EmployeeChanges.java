@@ -0,0 +1,12 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.Data;
+
+/** Changes after the requested cursor, up to {@code cursor}; {@code reset} asks for a full load instead. */
+@Data
+public class EmployeeChanges {
+    private String cursor;
+    private boolean reset;
+    private List<EmployeeChange> changes;
+}
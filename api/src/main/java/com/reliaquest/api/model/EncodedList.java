@@ -0,0 +1,58 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Read-only list that also carries its own JSON encoding and a strong ETag for it. A response body of this type is
+ * written as the stored bytes without serializing the elements again; anything else sees an ordinary list.
+ */
+public final class EncodedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<E> elements;
+    private final byte[] json;
+    private final String eTag;
+
+    private EncodedList(List<E> elements, byte[] json) {
+        this.elements = elements;
+        this.json = json;
+        this.eTag = eTagOf(json);
+    }
+
+    /** Encodes {@code elements} once with {@code mapper}, the same mapper the JSON message converter uses. */
+    public static <E> EncodedList<E> encode(List<E> elements, ObjectMapper mapper) {
+        try {
+            return new EncodedList<>(elements, mapper.writeValueAsBytes(elements));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not encode " + elements.size() + " elements", ex);
+        }
+    }
+
+    /** Strong ETag for a JSON body, in the format of Spring's {@code ShallowEtagHeaderFilter} */
+    public static String eTagOf(byte[] json) {
+        return "\"0" + DigestUtils.md5DigestAsHex(json) + "\"";
+    }
+
+    /** The encoded elements; callers must not modify the array */
+    public byte[] getJson() {
+        return json;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EncodedList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read results of one snapshot version, each encoded to JSON the first time it is asked for and served as those
+ * bytes until the version changes. Two readers racing on a cold entry may both encode it; either result is correct.
+ */
+final class EncodedReads {
+
+    private final EmployeeSnapshot snapshot;
+    private final ObjectMapper mapper;
+    private final Map<Integer, EncodedList<String>> topEarnerNames = new ConcurrentHashMap<>();
+
+    private volatile EncodedList<Employee> roster;
+
+    EncodedReads(EmployeeSnapshot snapshot, ObjectMapper mapper) {
+        this.snapshot = snapshot;
+        this.mapper = mapper;
+    }
+
+    long version() {
+        return snapshot.getVersion();
+    }
+
+    EncodedList<Employee> roster() {
+        EncodedList<Employee> encoded = roster;
+        if (encoded == null) {
+            encoded = EncodedList.encode(snapshot.getEmployees(), mapper);
+            roster = encoded;
+        }
+        return encoded;
+    }
+
+    EncodedList<String> topEarnerNames(int count) {
+        return topEarnerNames.computeIfAbsent(
+                count, ignored -> EncodedList.encode(snapshot.topEarnerNames(count), mapper));
+    }
+}
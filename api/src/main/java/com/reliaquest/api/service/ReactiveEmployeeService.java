@@ -0,0 +1,381 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.NegativeCache;
+import com.reliaquest.api.cache.RosterUpdate;
+import com.reliaquest.api.config.BatchProperties;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.BatchCreateResult;
+import com.reliaquest.api.model.CreateEmployeeDTO;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeChangesResponse;
+import com.reliaquest.api.model.EncodedList;
+import com.reliaquest.api.model.SingleEmployeeResponse;
+import com.reliaquest.api.upstream.EmployeeStreamDecoder;
+import com.reliaquest.api.upstream.RequestCoalescer;
+import com.reliaquest.api.upstream.UpstreamGovernor;
+import com.reliaquest.api.upstream.UpstreamGovernor.Priority;
+import com.reliaquest.api.upstream.UpstreamGuard;
+import com.reliaquest.api.upstream.UpstreamMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Non-blocking employee operations against the upstream mock server. Nothing here blocks: upstream I/O and retry
+ * backoff run on Reactor Netty's event loop and timers, so callers that stay reactive hold no thread while waiting.
+ * <p>
+ * Every upstream call goes through the {@link UpstreamGuard}. While an operation's circuit is open, reads are served
+ * from the last-known-good snapshot ({@link #isServingStale()} tells the controllers to mark them) and writes fail
+ * fast with {@link UpstreamUnavailableException}.
+ */
+@Service
+@Slf4j
+public class ReactiveEmployeeService {
+
+    /** Header on the upstream's roster with the change feed cursor the roster is at */
+    private static final String CURSOR_HEADER = "X-Roster-Cursor";
+
+    /**
+     * The roster is preferably streamed as newline-delimited JSON, which the upstream writes and compresses chunk by
+     * chunk; upstreams without it answer with the usual JSON envelope, and the decoder follows the content type.
+     */
+    private static final MediaType[] ROSTER_TYPES = {
+        MediaType.APPLICATION_NDJSON, MediaType.parseMediaType("application/json;q=0.9")
+    };
+
+    private final WebClient employeeClient;
+
+    private final EmployeeSnapshotCache snapshots;
+
+    private final NegativeCache<UUID> unknownIds;
+
+    private final UpstreamGovernor governor;
+
+    private final UpstreamGuard guard;
+
+    private final EmployeeStreamDecoder rosterDecoder;
+
+    private final ObjectMapper objectMapper;
+
+    private final BatchProperties batchProperties;
+
+    private final UpstreamMetrics metrics;
+
+    /** Identical concurrent reads (same method and URI) share one upstream call, e.g. a getById storm after a write. */
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    /** JSON of the current snapshot's roster and top earners, replaced when the snapshot version changes. */
+    private final AtomicReference<EncodedReads> encodedReads = new AtomicReference<>();
+
+    public ReactiveEmployeeService(
+            WebClient employeeClient,
+            EmployeeCacheProperties cacheProperties,
+            UpstreamGovernor governor,
+            UpstreamGuard guard,
+            EmployeeStreamDecoder rosterDecoder,
+            ObjectMapper objectMapper,
+            BatchProperties batchProperties,
+            MeterRegistry meterRegistry) {
+        this.employeeClient = employeeClient;
+        this.governor = governor;
+        this.guard = guard;
+        this.rosterDecoder = rosterDecoder;
+        this.objectMapper = objectMapper;
+        this.batchProperties = batchProperties;
+        this.metrics = new UpstreamMetrics(meterRegistry);
+        this.snapshots =
+                new EmployeeSnapshotCache(this::fetchRoster, cacheProperties, Clock.systemUTC(), meterRegistry);
+        this.unknownIds = new NegativeCache<>(
+                cacheProperties.getNegativeTtl(), cacheProperties.getNegativeMaxEntries(), Clock.systemUTC());
+    }
+
+    /** Cached roster snapshot, empty if the upstream has never been reachable */
+    public Mono<EmployeeSnapshot> snapshot() {
+        return snapshots.get().onErrorResume(ex -> {
+            log.warn("Employee roster unavailable, returning empty list: {}", ex.toString());
+            if (isUnavailable(ex)) {
+                metrics.fellBack("list");
+            }
+            return Mono.just(EmployeeSnapshot.empty());
+        });
+    }
+
+    /** True when reads are answered from a roster the upstream could not refresh (or from no roster at all) */
+    public boolean isServingStale() {
+        return snapshots.isStale();
+    }
+
+    /** Fetch all employees, empty list if none; the list carries its JSON encoding (see {@link EncodedList}) */
+    public Mono<List<Employee>> getAll() {
+        return snapshot().map(snapshot -> encodedReads(snapshot).roster());
+    }
+
+    /** Fetch employee by ID, empty if not found */
+    public Mono<Employee> getById(String id) {
+        UUID uuid = parseId("getById", id);
+        if (uuid == null) {
+            return Mono.empty();
+        }
+        return resolve(uuid);
+    }
+
+    /**
+     * The employee from the roster snapshot, or from the upstream if the snapshot does not have it yet; empty if the
+     * upstream does not have it either, or said so recently.
+     */
+    private Mono<Employee> resolve(UUID uuid) {
+        return snapshot().flatMap(snapshot -> {
+            Employee cached = snapshot.findById(uuid);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            if (unknownIds.contains(uuid)) {
+                log.debug("Employee {} recently reported unknown by upstream, returning empty", uuid);
+                return Mono.empty();
+            }
+            return fetchById(uuid);
+        });
+    }
+
+    /** Search employees by name fragment, empty list if none */
+    public Mono<List<Employee>> searchByName(String fragment) {
+        return snapshot().map(snapshot -> snapshot.searchByName(fragment));
+    }
+
+    /** Highest salary among all employees, 0 if none */
+    public Mono<Integer> getHighestSalary() {
+        return snapshot().map(EmployeeSnapshot::highestSalary);
+    }
+
+    /** Names of the {@code count} highest earning employees, highest first, carrying their JSON encoding */
+    public Mono<List<String>> getTopEarnerNames(int count) {
+        return snapshot().map(snapshot -> encodedReads(snapshot).topEarnerNames(count));
+    }
+
+    /** Create a new employee */
+    public Mono<Employee> create(CreateEmployeeDTO input) {
+        return upstream(
+                        "create",
+                        Priority.WRITE,
+                        employeeClient
+                                .post()
+                                .bodyValue(input)
+                                .retrieve()
+                                .bodyToMono(SingleEmployeeResponse.class)
+                                .map(resp -> resp.getData()))
+                .doOnNext(this::onCreated);
+    }
+
+    /**
+     * Create several employees, emitting one result per input as it completes (not in input order). Up to
+     * {@code employee.batch.concurrency} creates are outstanding at a time, each paced by the governor like a single
+     * create; an item the upstream keeps refusing is reported as throttled rather than failing the batch.
+     */
+    public Flux<BatchCreateResult> createAll(List<CreateEmployeeDTO> inputs) {
+        return Flux.range(0, inputs.size())
+                .flatMap(
+                        index -> create(inputs.get(index))
+                                .map(created -> BatchCreateResult.created(index, created))
+                                .onErrorResume(ex -> Mono.just(batchFailure(index, ex))),
+                        batchProperties.getConcurrency());
+    }
+
+    /**
+     * Delete employee by ID, emitting the deleted employee's name; empty if it does not exist or the upstream refused.
+     * The upstream deletes by name, so the name is resolved like {@link #getById}: from the roster snapshot, and only
+     * for an id the snapshot does not have yet with a GET by id before the DELETE.
+     */
+    public Mono<String> delete(String id) {
+        UUID uuid = parseId("delete", id);
+        if (uuid == null) {
+            return Mono.empty();
+        }
+
+        return resolve(uuid)
+                .switchIfEmpty(Mono.fromRunnable(() -> log.info("Employee with id {} not found for deletion", id)))
+                .flatMap(existing -> deleteByName(uuid, existing.getEmployeeName()));
+    }
+
+    private Mono<String> deleteByName(UUID uuid, String name) {
+        return upstream(
+                        "delete",
+                        Priority.WRITE,
+                        employeeClient
+                                .method(HttpMethod.DELETE)
+                                .bodyValue(Map.of("name", name))
+                                .retrieve()
+                                .toBodilessEntity())
+                .doOnSuccess(ignored -> {
+                    snapshots.removed(uuid);
+                    unknownIds.add(uuid);
+                })
+                .thenReturn(name)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    // the snapshot still lists an employee the upstream no longer has
+                    log.warn("Employee {} not found on delete", uuid);
+                    snapshots.invalidate();
+                    return Mono.empty();
+                })
+                .onErrorResume(UpstreamGovernor::isThrottled, e -> {
+                    log.warn("Upstream throttled delete({}): {}", uuid, e.toString());
+                    metrics.fellBack("delete");
+                    return Mono.empty();
+                });
+    }
+
+    private EncodedReads encodedReads(EmployeeSnapshot snapshot) {
+        EncodedReads reads = encodedReads.get();
+        if (reads == null || reads.version() != snapshot.getVersion()) {
+            reads = new EncodedReads(snapshot, objectMapper);
+            encodedReads.set(reads);
+        }
+        return reads;
+    }
+
+    private BatchCreateResult batchFailure(int index, Throwable ex) {
+        if (UpstreamGovernor.isThrottled(ex)) {
+            log.warn("Upstream throttled batch item {}: {}", index, ex.toString());
+            metrics.fellBack("create");
+            return BatchCreateResult.throttled(index, ex.getMessage());
+        }
+        log.warn("Batch item {} failed: {}", index, ex.toString());
+        return BatchCreateResult.failed(index, ex.getMessage());
+    }
+
+    /** Write-through: the new employee is patched into the snapshot instead of forcing a full reload */
+    private void onCreated(Employee created) {
+        snapshots.added(created);
+        UUID uuid = parseId("create", created.getId());
+        if (uuid != null) {
+            unknownIds.remove(uuid);
+        }
+    }
+
+    /**
+     * The upstream's changes since {@code cursor}, or the full roster when there is no cursor or the upstream no
+     * longer has (or never had) the changes; errors (rather than returning empty) so a failure is never cached
+     */
+    private Mono<RosterUpdate> fetchRoster(String cursor) {
+        if (cursor == null) {
+            return fetchAll();
+        }
+        return fetchChanges(cursor).flatMap(changes -> {
+            if (changes.isReset()) {
+                log.debug("Upstream cannot replay changes since {}, loading the full roster", cursor);
+                return fetchAll();
+            }
+            return Mono.just(RosterUpdate.changes(changes.getChanges(), changes.getCursor()));
+        });
+    }
+
+    private Mono<RosterUpdate> fetchAll() {
+        return coalescer.execute(RequestCoalescer.key("GET", "/"), () -> upstream(
+                        "list",
+                        Priority.REFRESH,
+                        employeeClient
+                                .get()
+                                .accept(ROSTER_TYPES)
+                                .retrieve()
+                                .toEntityFlux(DataBuffer.class)
+                                .flatMap(entity -> rosterDecoder
+                                        .decode(entity.getBody(), entity.getHeaders().getContentType())
+                                        .collectList()
+                                        .map(roster -> RosterUpdate.full(
+                                                roster, entity.getHeaders().getFirst(CURSOR_HEADER))))));
+    }
+
+    private Mono<EmployeeChanges> fetchChanges(String cursor) {
+        return upstream(
+                        "changes",
+                        Priority.REFRESH,
+                        employeeClient
+                                .get()
+                                .uri("/changes?since={cursor}", cursor)
+                                .retrieve()
+                                .bodyToMono(EmployeeChangesResponse.class)
+                                .map(EmployeeChangesResponse::getData))
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> {
+                    // an upstream without a change feed
+                    EmployeeChanges reset = new EmployeeChanges();
+                    reset.setReset(true);
+                    return Mono.just(reset);
+                });
+    }
+
+    private Mono<Employee> fetchById(UUID uuid) {
+        return coalescer.execute(RequestCoalescer.key("GET", "/" + uuid), () -> upstream(
+                        "get",
+                        Priority.READ,
+                        employeeClient
+                                .get()
+                                .uri("/{id}", uuid)
+                                .exchangeToMono(resp -> {
+                                    if (resp.statusCode().is2xxSuccessful()) {
+                                        return resp.bodyToMono(SingleEmployeeResponse.class)
+                                                .flatMap(r -> Mono.justOrEmpty(r.getData()));
+                                    } else if (resp.statusCode().equals(HttpStatus.NOT_FOUND)) {
+                                        unknownIds.add(uuid);
+                                        return Mono.empty();
+                                    } else {
+                                        return resp.createException().flatMap(Mono::error);
+                                    }
+                                }))
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> {
+                    unknownIds.add(uuid);
+                    return Mono.empty();
+                })
+                .onErrorResume(ReactiveEmployeeService::isUnavailable, ex -> {
+                    log.warn("Upstream unavailable for getById({}), returning empty: {}", uuid, ex.toString());
+                    metrics.fellBack("get");
+                    return Mono.empty();
+                }));
+    }
+
+    /**
+     * Runs {@code call} under the governor's budget, timed, with one more attempt after a 429. The retry re-enters
+     * the governor's queue, which by then knows about the lockout, so it waits for the next window (or gives up)
+     * instead of hitting the upstream again right away. The guard sees the outcome after the retry, and turns the
+     * whole thing away up front while the operation's circuit is open.
+     */
+    private <T> Mono<T> upstream(String operation, Priority priority, Mono<T> call) {
+        return guard.guard(
+                operation,
+                governor.execute(priority, metrics.timed(operation, call))
+                        .retryWhen(Retry.max(1)
+                                .filter(ex -> ex instanceof WebClientResponseException.TooManyRequests)
+                                .doBeforeRetry(signal -> metrics.retried(operation))));
+    }
+
+    /** Throttled by the upstream or the governor, or not attempted by the guard; reads fall back on these */
+    private static boolean isUnavailable(Throwable ex) {
+        return UpstreamGovernor.isThrottled(ex) || ex instanceof UpstreamUnavailableException;
+    }
+
+    private static UUID parseId(String operation, String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            log.warn("Invalid UUID format for {}({})", operation, id);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.api.upstream;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.List;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streams employees out of a roster response body as it arrives, instead of aggregating the whole body in WebClient's
+ * in-memory codec buffer first. Large rosters therefore neither hit {@code DataBufferLimitException} nor need a
+ * larger global {@code maxInMemorySize}.
+ */
+@Component
+public class EmployeeStreamDecoder {
+
+    private final ObjectReader employeeReader;
+
+    public EmployeeStreamDecoder(ObjectMapper objectMapper) {
+        this.employeeReader =
+                objectMapper.readerFor(Employee.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /** Employees of the body's {@code data} array in order; errors if the body has no such array. */
+    public Flux<Employee> decode(Flux<DataBuffer> body) {
+        return decode(body, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Employees of a roster body in order: one per line if {@code contentType} is {@code application/x-ndjson},
+     * otherwise those of its {@code data} array.
+     */
+    public Flux<Employee> decode(Flux<DataBuffer> body, MediaType contentType) {
+        boolean ndjson = contentType != null && MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType);
+        return Flux.defer(() -> {
+            RosterStreamParser parser = newParser(ndjson);
+            return body.concatMapIterable(buffer -> feed(parser, buffer))
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(finish(parser))));
+        });
+    }
+
+    private RosterStreamParser newParser(boolean ndjson) {
+        try {
+            return ndjson ? RosterStreamParser.ndjson(employeeReader) : new RosterStreamParser(employeeReader);
+        } catch (IOException ex) {
+            throw Exceptions.propagate(ex);
+        }
+    }
+
+    private static List<Employee> feed(RosterStreamParser parser, DataBuffer buffer) {
+        try {
+            byte[] chunk = new byte[buffer.readableByteCount()];
+            buffer.read(chunk);
+            return parser.feed(chunk);
+        } catch (IOException ex) {
+            throw Exceptions.propagate(ex);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static List<Employee> finish(RosterStreamParser parser) {
+        try {
+            return parser.finish();
+        } catch (IOException ex) {
+            throw Exceptions.propagate(ex);
+        }
+    }
+}
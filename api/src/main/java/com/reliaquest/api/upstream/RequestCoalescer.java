@@ -0,0 +1,39 @@
+package com.reliaquest.api.upstream;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Single-flight for upstream reads: while a call for a key is outstanding, further calls for the same key subscribe
+ * to it instead of issuing their own, and every waiter gets the one result (value, empty or error). The key is
+ * forgotten as soon as the call terminates, so results are never cached beyond the flight itself.
+ */
+public class RequestCoalescer {
+
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+    /** Key for a read, e.g. {@code GET /3fa85f64-...}; only identical method and URI share a flight. */
+    public static String key(String method, String uri) {
+        return method + ' ' + uri;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> (Mono<T>) inFlight.computeIfAbsent(key, k -> share(k, call.get())));
+    }
+
+    /** Calls currently shared between waiters; for diagnostics */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private <T> Mono<T> share(String key, Mono<T> call) {
+        AtomicReference<Mono<T>> self = new AtomicReference<>();
+        Mono<T> shared = call.doFinally(signal -> inFlight.remove(key, self.get())).cache();
+        self.set(shared);
+        return shared;
+    }
+}
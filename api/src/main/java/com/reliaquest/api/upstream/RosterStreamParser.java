@@ -0,0 +1,119 @@
+package com.reliaquest.api.upstream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental decoder for the upstream roster body {@code {"data": [ {...}, ... ], "status": ...}}, or for the
+ * newline-delimited stream of employees {@code {...}\n{...}\n...} (see {@link #ndjson}).
+ * <p>
+ * Bytes are pushed in whatever chunks the network delivers; Jackson's non-blocking parser tokenizes them and each
+ * element of the top-level {@code data} array is bound to an {@link Employee} as soon as its closing brace arrives.
+ * Only the tokens of the element currently being read are held, so memory is bounded by one employee plus one
+ * chunk, whatever the roster size. Not thread-safe: one instance per response.
+ */
+public class RosterStreamParser {
+
+    private static final String DATA_FIELD = "data";
+    private static final int DATA_DEPTH = 2;
+
+    private final ObjectReader employeeReader;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private final boolean ndjson;
+
+    /** Depth at which each employee's object opens: inside the data array, or at the top level for NDJSON. */
+    private final int elementDepth;
+
+    private int depth;
+    private boolean dataNext;
+    private boolean inData;
+    private boolean sawData;
+    private TokenBuffer element;
+
+    public RosterStreamParser(ObjectReader employeeReader) throws IOException {
+        this(employeeReader, false);
+    }
+
+    private RosterStreamParser(ObjectReader employeeReader, boolean ndjson) throws IOException {
+        this.employeeReader = employeeReader;
+        this.parser = employeeReader.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.ndjson = ndjson;
+        this.elementDepth = ndjson ? 1 : DATA_DEPTH + 1;
+        this.inData = ndjson;
+        this.sawData = ndjson;
+    }
+
+    /** Parser for top-level employee objects, one per line; an empty body is an empty roster. */
+    public static RosterStreamParser ndjson(ObjectReader employeeReader) throws IOException {
+        return new RosterStreamParser(employeeReader, true);
+    }
+
+    /** Feeds the next chunk of the body, returning the employees it completed (often none). */
+    public List<Employee> feed(byte[] chunk) throws IOException {
+        feeder.feedInput(chunk, 0, chunk.length);
+        return drain();
+    }
+
+    /** Signals the end of the body, returning any remaining employees; fails if there was no data array. */
+    public List<Employee> finish() throws IOException {
+        feeder.endOfInput();
+        List<Employee> rest = drain();
+        parser.close();
+        if (!sawData) {
+            throw new IllegalStateException("Upstream returned no employee data");
+        }
+        return rest;
+    }
+
+    private List<Employee> drain() throws IOException {
+        List<Employee> completed = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (element != null) {
+                copyElementToken(token, completed);
+            } else {
+                track(token);
+            }
+        }
+        return completed;
+    }
+
+    private void copyElementToken(JsonToken token, List<Employee> completed) throws IOException {
+        element.copyCurrentEvent(parser);
+        if (token.isStructStart()) {
+            depth++;
+        } else if (token.isStructEnd() && --depth == elementDepth - 1) {
+            completed.add(employeeReader.readValue(element.asParser()));
+            element = null;
+        }
+    }
+
+    private void track(JsonToken token) throws IOException {
+        if (token.isStructStart()) {
+            depth++;
+            if (token == JsonToken.START_ARRAY && dataNext && depth == DATA_DEPTH) {
+                inData = true;
+            } else if (token == JsonToken.START_OBJECT && inData && depth == elementDepth) {
+                element = new TokenBuffer(parser, null);
+                element.copyCurrentEvent(parser);
+            }
+        } else if (token.isStructEnd()) {
+            if (!ndjson && inData && depth == DATA_DEPTH) {
+                inData = false;
+                sawData = true;
+            }
+            depth--;
+        }
+        dataNext = token == JsonToken.FIELD_NAME && depth == 1 && DATA_FIELD.equals(parser.currentName());
+    }
+}
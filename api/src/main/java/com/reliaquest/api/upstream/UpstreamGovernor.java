@@ -0,0 +1,381 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.config.GovernorProperties;
+import com.reliaquest.api.exception.UpstreamThrottledException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Shared request budget for every call the api makes to the upstream employee service.
+ * <p>
+ * The upstream grants a fixed number of requests and then locks the client out for a while. The governor mirrors
+ * that as a token bucket refilled in one step: {@code limit} tokens per window, and once they are spent the bucket
+ * stays empty for {@code lockout}. Both values are learned from the upstream's answers:
+ * <ul>
+ *     <li>a 429 locks the bucket, for as long as its {@code Retry-After} says if it has one. Only in the window right
+ *     after a lockout the upstream imposed, when its count is known to start from zero, does the 429 also tell the
+ *     limit: it becomes what that window allowed, and the limit never grows to it again. Elsewhere the upstream may
+ *     still be counting requests from earlier windows, so the limit is left alone and the next window measures it</li>
+ *     <li>a window used up without a 429 grows the limit by one, up to just below the lowest limit that drew one</li>
+ *     <li>after a lockout a single probe goes first, as the next window's first request; if it is refused the lockout
+ *     estimate grows and never shrinks below what the probe proved necessary again, otherwise it shrinks slightly and
+ *     the rest of the window opens</li>
+ * </ul>
+ * Callers that find the bucket empty queue by {@link Priority} and give up with {@link UpstreamThrottledException}
+ * after their priority's maximum wait, instead of spending the budget on retries that are bound to be refused.
+ * <p>
+ * Time spent queueing is recorded as {@code employee.upstream.permit.wait}; the learned limit and lockout and the
+ * permits left are exposed as gauges.
+ */
+@Slf4j
+public class UpstreamGovernor {
+
+    private static final double LOCKOUT_GROWTH = 1.5;
+    private static final double LOCKOUT_DECAY = 0.9;
+
+    /** Queue precedence, highest first. */
+    public enum Priority {
+        WRITE,
+        REFRESH,
+        READ
+    }
+
+    private final GovernorProperties properties;
+    private final Clock clock;
+    private final Scheduler timer;
+    private final MeterRegistry registry;
+
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparing((Waiter waiter) -> waiter.priority).thenComparingLong(waiter -> waiter.sequence));
+
+    private long sequence;
+    private int limit;
+    /** Lowest limit that drew a 429 in a measured window; the limit stays below it. */
+    private int ceiling = Integer.MAX_VALUE;
+    private Duration lockout;
+    /** Shortest lockout not yet proven too short by a refused probe; the estimate stays at or above it. */
+    private Duration lockoutFloor = Duration.ZERO;
+    private int tokens;
+    private int granted;
+    private boolean throttledThisWindow;
+    /** The current window started right after a lockout the upstream imposed, so the upstream counts from zero. */
+    private boolean measuring;
+    /** The last lockout came from the upstream rather than from a window the governor used up. */
+    private boolean lockedByUpstream;
+    private boolean probing;
+    private Instant lockedUntil;
+    private Disposable scheduledDrain;
+
+    public UpstreamGovernor(GovernorProperties properties, Clock clock, Scheduler timer, MeterRegistry registry) {
+        this.properties = properties;
+        this.clock = clock;
+        this.timer = timer;
+        this.registry = registry;
+        this.limit = properties.getInitialLimit();
+        this.lockout = properties.getInitialLockout();
+        this.tokens = limit;
+
+        Gauge.builder("employee.upstream.permits.available", this, UpstreamGovernor::availablePermits)
+                .register(registry);
+        Gauge.builder("employee.upstream.limit", this, UpstreamGovernor::limitEstimate)
+                .description("Learned upstream requests per window")
+                .register(registry);
+        Gauge.builder("employee.upstream.lockout", this, UpstreamGovernor::lockoutEstimateSeconds)
+                .description("Learned upstream lockout after an exhausted window")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /** True for a 429 from the upstream, a call the governor refused to make, or retries exhausted on either. */
+    public static boolean isThrottled(Throwable ex) {
+        Throwable cause = Exceptions.isRetryExhausted(ex) ? ex.getCause() : ex;
+        return cause instanceof WebClientResponseException.TooManyRequests
+                || cause instanceof UpstreamThrottledException;
+    }
+
+    /** Runs {@code call} once a permit is available, feeding its outcome back into the learned limits. */
+    public <T> Mono<T> execute(Priority priority, Mono<T> call) {
+        return acquire(priority).then(Mono.defer(() -> {
+            AtomicBoolean throttled = new AtomicBoolean();
+            return call.doOnError(ex -> {
+                        if (ex instanceof WebClientResponseException.TooManyRequests tooMany) {
+                            throttled.set(true);
+                            onThrottled(retryAfter(tooMany));
+                        }
+                    })
+                    .doFinally(signal -> {
+                        if (!throttled.get()) {
+                            onAccepted();
+                        }
+                    });
+        }));
+    }
+
+    /** Permits left in the current window; for diagnostics */
+    public synchronized int availablePermits() {
+        refillIfDue(clock.instant());
+        return tokens;
+    }
+
+    private synchronized int limitEstimate() {
+        return limit;
+    }
+
+    private synchronized double lockoutEstimateSeconds() {
+        return lockout.toMillis() / 1000.0;
+    }
+
+    private Mono<Void> acquire(Priority priority) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return awaitPermit(priority)
+                    .doOnSuccess(ignored -> sample.stop(permitWait(priority, "granted")))
+                    .doOnError(ex -> sample.stop(permitWait(priority, "timeout")));
+        });
+    }
+
+    private Timer permitWait(Priority priority, String outcome) {
+        return Timer.builder("employee.upstream.permit.wait")
+                .description("Time upstream calls spent queued for a permit")
+                .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Mono<Void> awaitPermit(Priority priority) {
+        Duration maxWait = maxWait(priority);
+        return Mono.<Void>create(sink -> {
+                    Waiter waiter;
+                    synchronized (this) {
+                        refillIfDue(clock.instant());
+                        if (tokens > 0 && waiters.isEmpty()) {
+                            take();
+                            waiter = null;
+                        } else {
+                            waiter = new Waiter(priority, sequence++, sink);
+                            waiters.add(waiter);
+                            scheduleDrain();
+                        }
+                    }
+                    if (waiter == null) {
+                        sink.success();
+                    } else {
+                        sink.onCancel(() -> {
+                            if (waiter.settle()) {
+                                synchronized (this) {
+                                    waiters.remove(waiter);
+                                }
+                            }
+                        });
+                    }
+                })
+                .timeout(
+                        maxWait,
+                        Mono.error(() -> new UpstreamThrottledException(
+                                "No upstream request budget for " + priority + " within " + maxWait)));
+    }
+
+    private void onAccepted() {
+        List<Waiter> ready;
+        synchronized (this) {
+            if (probing) {
+                probing = false;
+                lockout = max(max(properties.getMinLockout(), lockoutFloor), scale(lockout, LOCKOUT_DECAY));
+                openWindow();
+                log.debug("Upstream probe accepted, window of {} opened, lockout estimate {}", limit, lockout);
+                if (tokens == 0) {
+                    lockedUntil = clock.instant().plus(lockout);
+                }
+            }
+            ready = grantReady();
+            scheduleDrain();
+        }
+        ready.forEach(this::grant);
+    }
+
+    /** {@code retryAfter}: how long the upstream said to wait, or null if it did not say. */
+    private void onThrottled(Duration retryAfter) {
+        List<Waiter> ready;
+        synchronized (this) {
+            Instant now = clock.instant();
+            if (probing) {
+                probing = false;
+                lockedByUpstream = true;
+                Duration grown = min(properties.getMaxLockout(), scale(lockout, LOCKOUT_GROWTH));
+                lockedUntil = now.plus(
+                        retryAfter != null ? retryAfter : max(grown.minus(lockout), properties.getMinLockout()));
+                // a Retry-After tells exactly how long the lockout lasts; without one it is only known to be longer
+                Duration needed = retryAfter != null ? lockout.plus(retryAfter) : grown;
+                lockoutFloor = min(properties.getMaxLockout(), max(lockoutFloor, needed));
+                lockout = max(grown, lockoutFloor);
+                log.warn("Upstream still locked out after probe, lockout estimate raised to {}", lockout);
+            } else if (!throttledThisWindow) {
+                throttledThisWindow = true;
+                if (measuring) {
+                    limit = Math.max(1, granted - 1);
+                    ceiling = Math.min(ceiling, limit + 1);
+                }
+                tokens = 0;
+                lockedByUpstream = true;
+                Duration pause = retryAfter != null ? retryAfter : lockout;
+                lockedUntil = now.plus(pause);
+                log.warn(
+                        "Upstream throttled after {} requests{}, limit estimate now {}, pausing for {}",
+                        granted,
+                        measuring ? "" : " (counting from an earlier window)",
+                        limit,
+                        pause);
+            }
+            scheduleDrain();
+            ready = grantReady();
+        }
+        ready.forEach(this::grant);
+    }
+
+    private void drain() {
+        List<Waiter> ready;
+        synchronized (this) {
+            scheduledDrain = null;
+            refillIfDue(clock.instant());
+            ready = grantReady();
+            scheduleDrain();
+        }
+        ready.forEach(this::grant);
+    }
+
+    private void grant(Waiter waiter) {
+        if (waiter.settle()) {
+            waiter.sink.success();
+            return;
+        }
+        // the waiter gave up between being dequeued and being told; hand its permit to the next one
+        List<Waiter> ready;
+        synchronized (this) {
+            tokens++;
+            granted--;
+            ready = grantReady();
+        }
+        ready.forEach(this::grant);
+    }
+
+    /** Caller holds the lock. */
+    private List<Waiter> grantReady() {
+        List<Waiter> ready = new ArrayList<>();
+        while (tokens > 0 && !waiters.isEmpty()) {
+            take();
+            ready.add(waiters.poll());
+        }
+        return ready;
+    }
+
+    /** Caller holds the lock. */
+    private void take() {
+        tokens--;
+        granted++;
+        if (tokens == 0 && !probing && lockedUntil == null) {
+            lockedUntil = clock.instant().plus(lockout);
+        }
+    }
+
+    /** Caller holds the lock. Once the lockout has passed, lets a single probe through. */
+    private void refillIfDue(Instant now) {
+        if (lockedUntil != null && !now.isBefore(lockedUntil)) {
+            lockedUntil = null;
+            probing = true;
+            tokens = 1;
+        }
+    }
+
+    /** Caller holds the lock. The probe that was just accepted is the window's first request. */
+    private void openWindow() {
+        if (!throttledThisWindow) {
+            // the last window ended by being used up rather than by a 429
+            limit = Math.min(Math.min(properties.getMaxLimit(), ceiling - 1), limit + 1);
+        }
+        tokens = limit - 1;
+        granted = 1;
+        throttledThisWindow = false;
+        measuring = lockedByUpstream;
+        lockedByUpstream = false;
+    }
+
+    /** Caller holds the lock. */
+    private void scheduleDrain() {
+        if (scheduledDrain != null || waiters.isEmpty() || lockedUntil == null) {
+            return;
+        }
+        long delay = Math.max(0, Duration.between(clock.instant(), lockedUntil).toMillis());
+        scheduledDrain = timer.schedule(this::drain, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /** The 429's {@code Retry-After} in seconds; null if it has none or gives a date instead */
+    private static Duration retryAfter(WebClientResponseException ex) {
+        String value = ex.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException notSeconds) {
+            return null;
+        }
+    }
+
+    private Duration maxWait(Priority priority) {
+        return switch (priority) {
+            case WRITE -> properties.getWriteMaxWait();
+            case REFRESH -> properties.getRefreshMaxWait();
+            case READ -> properties.getReadMaxWait();
+        };
+    }
+
+    private static Duration scale(Duration duration, double factor) {
+        return Duration.ofMillis((long) (duration.toMillis() * factor));
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private static final class Waiter {
+
+        private final Priority priority;
+        private final long sequence;
+        private final MonoSink<Void> sink;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private Waiter(Priority priority, long sequence, MonoSink<Void> sink) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.sink = sink;
+        }
+
+        /** Claims the waiter for either a grant or a cancellation; only the first claim wins. */
+        boolean settle() {
+            return settled.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.config.ResilienceProperties;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+/**
+ * Circuit breaker and bulkhead per upstream operation, both keyed by the operation name used for metrics.
+ * <p>
+ * The breaker opens once enough recent calls of an operation failed: the upstream was unreachable, timed out,
+ * answered 5xx or 429, or the governor gave up waiting for its budget. A 4xx other than 429 is an answer, not a
+ * failure. While open, and while the bulkhead is full, calls fail at once with {@link UpstreamUnavailableException}
+ * instead of queueing for a permit or sitting through a timeout.
+ * <p>
+ * State, failure rates and rejections are exposed under the usual {@code resilience4j.circuitbreaker.*} and
+ * {@code resilience4j.bulkhead.*} meters, tagged by operation name.
+ */
+@Slf4j
+public class UpstreamGuard {
+
+    private final CircuitBreakerRegistry breakers;
+    private final BulkheadRegistry bulkheads;
+
+    public UpstreamGuard(ResilienceProperties properties, MeterRegistry registry) {
+        this.breakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(properties.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.getPermittedCallsInHalfOpenState())
+                .recordException(UpstreamGuard::isFailure)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        breakers.getEventPublisher()
+                .onEntryAdded(added -> added.getAddedEntry()
+                        .getEventPublisher()
+                        .onStateTransition(event -> log.warn(
+                                "Upstream {} circuit {}",
+                                event.getCircuitBreakerName(),
+                                event.getStateTransition())));
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(breakers).bindTo(registry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(registry);
+    }
+
+    /** Runs {@code call} through {@code operation}'s breaker, then its bulkhead. */
+    public <T> Mono<T> guard(String operation, Mono<T> call) {
+        return call.transformDeferred(BulkheadOperator.of(bulkheads.bulkhead(operation)))
+                .transformDeferred(CircuitBreakerOperator.of(breakers.circuitBreaker(operation)))
+                .onErrorMap(
+                        ex -> ex instanceof CallNotPermittedException || ex instanceof BulkheadFullException,
+                        ex -> new UpstreamUnavailableException(
+                                "Upstream " + operation + " not attempted: " + ex.getMessage(), ex));
+    }
+
+    /** Current breaker state of {@code operation}; for diagnostics */
+    public CircuitBreaker.State state(String operation) {
+        return breakers.circuitBreaker(operation).getState();
+    }
+
+    /** Anything but a definite 4xx answer; a call that is neither recorded nor ignored counts as a success. */
+    private static boolean isFailure(Throwable ex) {
+        Throwable cause = Exceptions.isRetryExhausted(ex) ? ex.getCause() : ex;
+        return !(cause instanceof WebClientResponseException response)
+                || !response.getStatusCode().is4xxClientError()
+                || response instanceof WebClientResponseException.TooManyRequests;
+    }
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.api.upstream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Meters for the api's own calls to the upstream, tagged by {@code operation}:
+ * <ul>
+ *     <li>{@code employee.upstream.latency}: the HTTP exchange alone, excluding any wait for a governor permit
+ *     (see {@code employee.upstream.permit.wait}), tagged with its {@code outcome}</li>
+ *     <li>{@code employee.upstream.retries}: extra attempts after a 429</li>
+ *     <li>{@code employee.upstream.fallbacks}: calls that gave up on a throttled upstream and answered empty</li>
+ * </ul>
+ */
+public class UpstreamMetrics {
+
+    private final MeterRegistry registry;
+
+    public UpstreamMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Times {@code call} from subscription to termination. */
+    public <T> Mono<T> timed(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return call.doOnSuccess(value -> sample.stop(latency(operation, "success")))
+                    .doOnError(ex -> sample.stop(latency(operation, outcome(ex))))
+                    .doOnCancel(() -> sample.stop(latency(operation, "cancelled")));
+        });
+    }
+
+    public void retried(String operation) {
+        counter("employee.upstream.retries", operation).increment();
+    }
+
+    public void fellBack(String operation) {
+        counter("employee.upstream.fallbacks", operation).increment();
+    }
+
+    private Timer latency(String operation, String outcome) {
+        return Timer.builder("employee.upstream.latency")
+                .description("Upstream employee API exchanges, excluding time queued for a permit")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name).tag("operation", operation).register(registry);
+    }
+
+    private static String outcome(Throwable ex) {
+        if (ex instanceof WebClientResponseException.TooManyRequests) {
+            return "throttled";
+        }
+        if (ex instanceof WebClientResponseException.NotFound) {
+            return "not_found";
+        }
+        if (ex instanceof WebClientResponseException response) {
+            return response.getStatusCode().is4xxClientError() ? "client_error" : "server_error";
+        }
+        return "error";
+    }
+}
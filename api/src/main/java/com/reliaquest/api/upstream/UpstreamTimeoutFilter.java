@@ -0,0 +1,61 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.config.TransportProperties;
+import java.net.URI;
+import java.time.Duration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+/**
+ * Applies the configured response timeout of the upstream operation a request belongs to, so a hung upstream fails
+ * the call instead of holding it (and whatever waits on it) indefinitely. Operations are told apart the way the
+ * upstream's API shapes them: the collection URI for list, create and delete, {@code /changes} below it for the
+ * change feed and an id below it for get.
+ */
+public class UpstreamTimeoutFilter implements ExchangeFilterFunction {
+
+    private final TransportProperties properties;
+    private final String basePath;
+
+    public UpstreamTimeoutFilter(TransportProperties properties) {
+        this.properties = properties;
+        this.basePath = trimTrailingSlash(URI.create(properties.getBaseUrl()).getPath());
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Duration timeout = properties.timeout(operation(request));
+        return next.exchange(ClientRequest.from(request)
+                .httpRequest(httpRequest -> {
+                    Object nativeRequest = httpRequest.getNativeRequest();
+                    if (nativeRequest instanceof HttpClientRequest reactorRequest) {
+                        reactorRequest.responseTimeout(timeout);
+                    }
+                })
+                .build());
+    }
+
+    private String operation(ClientRequest request) {
+        HttpMethod method = request.method();
+        if (HttpMethod.POST.equals(method)) {
+            return "create";
+        }
+        if (HttpMethod.DELETE.equals(method)) {
+            return "delete";
+        }
+        String path = trimTrailingSlash(request.url().getPath());
+        if (path.equals(basePath)) {
+            return "list";
+        }
+        return path.equals(basePath + "/changes") ? "changes" : "get";
+    }
+
+    private static String trimTrailingSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+}
@@ -1,11 +1,24 @@
 package com.reliaquest.api;
 
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.EmployeeCacheProperties;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @SpringBootTest
 class ApiApplicationTest {
 
+    @Autowired
+    private EmployeeCacheProperties cacheProperties;
+
     @Test
     void contextLoads() {}
+
+    @Test
+    void snapshotFile_IsOffUnlessConfigured() {
+        // a test context must neither serve nor overwrite a roster saved by a running instance
+        assertNull(cacheProperties.getSnapshotFile());
+    }
 }
@@ -1,15 +1,18 @@
 package com.reliaquest.api;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
 import com.reliaquest.api.model.CreateEmployeeDTO;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EncodedList;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -106,19 +110,42 @@ class EmployeeControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].id").value("111"));
     }
 
+    @Test
+    @DisplayName("getAllEmployees - marks a last-known-good roster stale")
+    void getAllEmployees_MarksStaleSnapshot() throws Exception {
+        when(service.getAll()).thenReturn(List.of(new Employee()));
+        when(service.isServingStale()).thenReturn(true);
+
+        mockMvc.perform(get("/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.WARNING, "110 - \"Response is Stale\""));
+    }
+
+    @Test
+    @DisplayName("getAllEmployees - serves pre-encoded roster with an ETag and answers a match with 304")
+    void getAllEmployees_PreEncodedWithETag() throws Exception {
+        Employee e = new Employee();
+        e.setId("111");
+        e.setEmployeeName("Test User");
+        EncodedList<Employee> roster = EncodedList.encode(List.of(e), mapper);
+        when(service.getAll()).thenReturn(roster);
+
+        mockMvc.perform(get("/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, roster.getETag()))
+                .andExpect(content().bytes(roster.getJson()));
+        mockMvc.perform(get("/employee").header(HttpHeaders.IF_NONE_MATCH, roster.getETag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     // ------------------------------------------------------
     // GET /employee/highestSalary
     // ------------------------------------------------------
     @Test
     @DisplayName("getHighestSalaryOfEmployees - returns 200 with correct max")
     void getHighestSalary_ReturnsCorrectValue() throws Exception {
-        Employee e1 = new Employee();
-        e1.setEmployeeSalary(200);
-
-        Employee e2 = new Employee();
-        e2.setEmployeeSalary(500);
-
-        when(service.getAll()).thenReturn(List.of(e1, e2));
+        when(service.getHighestSalary()).thenReturn(500);
 
         mockMvc.perform(get("/employee/highestSalary"))
                 .andExpect(status().isOk())
@@ -131,17 +158,7 @@ class EmployeeControllerIntegrationTest {
     @Test
     @DisplayName("topTenHighestEarningEmployeeNames - returns sorted top 10")
     void getTopTen_ReturnsCorrectList() throws Exception {
-        Employee e1 = new Employee();
-        e1.setEmployeeName("A");
-        e1.setEmployeeSalary(100);
-        Employee e2 = new Employee();
-        e2.setEmployeeName("B");
-        e2.setEmployeeSalary(300);
-        Employee e3 = new Employee();
-        e3.setEmployeeName("C");
-        e3.setEmployeeSalary(200);
-
-        when(service.getAll()).thenReturn(List.of(e1, e2, e3));
+        when(service.getTopEarnerNames(10)).thenReturn(List.of("B", "C", "A"));
 
         mockMvc.perform(get("/employee/topTenHighestEarningEmployeeNames"))
                 .andExpect(status().isOk())
@@ -172,37 +189,40 @@ class EmployeeControllerIntegrationTest {
                 .andExpect(jsonPath("$.employee_name").value("New Guy"));
     }
 
+    @Test
+    @DisplayName("createEmployee - returns 503 while the upstream circuit is open")
+    void createEmployee_Returns503_WhenUpstreamUnavailable() throws Exception {
+        when(service.create(any(CreateEmployeeDTO.class)))
+                .thenThrow(new UpstreamUnavailableException("circuit open", null));
+
+        mockMvc.perform(post("/employee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new CreateEmployeeDTO("New Guy", 400, 33, "VP", "e"))))
+                .andExpect(status().isServiceUnavailable());
+    }
+
     // ------------------------------------------------------
     // DELETE /employee/{id}
     // ------------------------------------------------------
     @Test
-    @DisplayName("deleteEmployeeById - returns 200 with success message")
+    @DisplayName("deleteEmployeeById - returns 200 with the deleted name")
     void deleteEmployee_Returns200() throws Exception {
-        when(service.getById("123")).thenReturn(new Employee());
-        when(service.delete("123")).thenReturn(true);
+        when(service.delete("123")).thenReturn("Alice");
 
         mockMvc.perform(delete("/employee/{id}", "123"))
                 .andExpect(status().isOk())
-                .andExpect(content().string(""));
-    }
-
-    @Test
-    @DisplayName("deleteEmployeeById - returns 404 when service returns false")
-    void deleteEmployee_Returns404_WhenFalse() throws Exception {
-        when(service.delete("123")).thenReturn(false);
+                .andExpect(content().string("Alice"));
 
-        mockMvc.perform(delete("/employee/{id}", "123"))
-                .andExpect(status().isNotFound())
-                .andExpect(content().string(""));
+        verify(service, never()).getById(any());
     }
 
     @Test
-    @DisplayName("deleteEmployeeById - returns 400 on JsonProcessingException")
-    void deleteEmployee_Returns400_OnException() throws Exception {
-        when(service.delete("123")).thenThrow(new JsonProcessingException("test error") {});
+    @DisplayName("deleteEmployeeById - returns 404 when nothing was deleted")
+    void deleteEmployee_Returns404_WhenNothingDeleted() throws Exception {
+        when(service.delete("123")).thenReturn(null);
 
         mockMvc.perform(delete("/employee/{id}", "123"))
-                .andExpect(status().isBadRequest())
+                .andExpect(status().isNotFound())
                 .andExpect(content().string(""));
     }
 }
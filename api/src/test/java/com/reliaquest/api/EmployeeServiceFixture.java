@@ -0,0 +1,48 @@
+package com.reliaquest.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.BatchProperties;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.config.GovernorProperties;
+import com.reliaquest.api.config.ResilienceProperties;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import com.reliaquest.api.upstream.EmployeeStreamDecoder;
+import com.reliaquest.api.upstream.UpstreamGovernor;
+import com.reliaquest.api.upstream.UpstreamGuard;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Builds the {@link ReactiveEmployeeService} under test with default properties; tests adjust {@link #cache} or
+ * {@link #resilience} before calling {@link #service}. Every service built shares the one meter registry.
+ */
+final class EmployeeServiceFixture {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final EmployeeCacheProperties cache = new EmployeeCacheProperties();
+    final ResilienceProperties resilience = new ResilienceProperties();
+
+    ReactiveEmployeeService service(WebClient webClient) {
+        return new ReactiveEmployeeService(
+                webClient,
+                cache,
+                new UpstreamGovernor(new GovernorProperties(), Clock.systemUTC(), Schedulers.parallel(), registry),
+                new UpstreamGuard(resilience, registry),
+                new EmployeeStreamDecoder(MAPPER),
+                MAPPER,
+                new BatchProperties(),
+                registry);
+    }
+
+    /** Upstream calls made for {@code operation}, whatever their outcome */
+    long upstreamCalls(String operation) {
+        return registry.find("employee.upstream.latency").tag("operation", operation).timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+}
@@ -4,10 +4,22 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
 import com.reliaquest.api.model.*;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,15 +27,22 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.reactive.function.client.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class EmployeeServiceTest {
 
+    private static final ObjectMapper MAPPER = EmployeeServiceFixture.MAPPER;
+
     @Mock
     private WebClient webClient;
 
@@ -37,16 +56,6 @@ class EmployeeServiceTest {
     @Mock
     private WebClient.ResponseSpec getResponseSpec;
 
-    // --- GET BY ID ---
-    @Mock
-    private WebClient.RequestHeadersUriSpec getByIdUriSpec;
-
-    @Mock
-    private WebClient.RequestHeadersSpec getByIdHeadersSpec;
-
-    @Mock
-    private ClientResponse clientResponse;
-
     // --- POST ---
     @Mock
     private WebClient.RequestBodyUriSpec postUriSpec;
@@ -67,15 +76,23 @@ class EmployeeServiceTest {
     @Mock
     private WebClient.ResponseSpec deleteResponseSpec;
 
+    private final EmployeeServiceFixture fixture = new EmployeeServiceFixture();
+
+    private ReactiveEmployeeService reactiveService;
+
     private EmployeeService service;
 
     @BeforeEach
     void setup() {
-        service = new EmployeeService(webClient);
+        reactiveService = fixture.service(webClient);
+        service = new EmployeeService(reactiveService);
 
         // GET ALL chain
         when(webClient.get()).thenReturn(getUriSpec);
+        when(getUriSpec.accept(any(MediaType[].class))).thenReturn(getUriSpec);
         when(getUriSpec.retrieve()).thenReturn(getResponseSpec);
+        when(getResponseSpec.toEntityFlux(DataBuffer.class))
+                .then(inv -> Mono.just(ResponseEntity.ok(getResponseSpec.bodyToFlux(DataBuffer.class))));
 
         // POST chain
         when(webClient.post()).thenReturn(postUriSpec);
@@ -97,69 +114,105 @@ class EmployeeServiceTest {
         emp.setId("1");
         emp.setEmployeeName("Test");
 
-        EmployeesResponse resp = new EmployeesResponse();
-        resp.setData(List.of(emp));
-
-        when(getResponseSpec.bodyToMono(EmployeesResponse.class)).thenReturn(Mono.just(resp));
+        when(getResponseSpec.bodyToFlux(DataBuffer.class)).thenReturn(roster(emp));
 
         List<Employee> result = service.getAll();
 
         assertEquals(1, result.size());
         assertEquals("Test", result.get(0).getEmployeeName());
+        assertEquals(
+                1,
+                fixture.registry
+                        .get("employee.upstream.latency")
+                        .tags("operation", "list", "outcome", "success")
+                        .timer()
+                        .count());
     }
 
     // ------------------------------------------------------------
-    // GET BY ID success
+    // Salary order statistics
     // ------------------------------------------------------------
     @Test
-    void getById_ReturnsEmployee() {
-        UUID uuid = UUID.randomUUID();
+    void salaryStatistics_RankBySalaryAndSkipNullSalaries() {
+        when(getResponseSpec.bodyToFlux(DataBuffer.class))
+                .thenReturn(roster(
+                        employee("A", 100), employee("B", 300), employee("NoSalary", null), employee("C", 200)));
+
+        assertEquals(300, service.getHighestSalary());
+        assertEquals(List.of("B", "C", "A"), service.getTopEarnerNames(10));
+        assertEquals(List.of("B", "C"), service.getTopEarnerNames(2));
+    }
 
-        when(webClient.get()).thenReturn(getByIdUriSpec);
-        when(getByIdUriSpec.uri("/{id}", uuid)).thenReturn(getByIdHeadersSpec);
+    // ------------------------------------------------------------
+    // GET BY ID of an employee the snapshot does not have, over HTTP
+    // ------------------------------------------------------------
+    @Test
+    void getById_ReturnsEmployee() throws Exception {
+        Employee john = employee("John", 100);
+        try (MockWebServer upstream = new MockWebServer()) {
+            upstream.enqueue(json(rosterResponse(employee("Someone", 100))));
+            upstream.enqueue(json(singleResponse(john)));
+
+            Employee result = service(upstream).getById(john.getId());
+
+            assertEquals(john, result);
+            assertEquals("/api/v1/employee", upstream.takeRequest().getPath());
+            assertGetById(upstream, john.getId());
+        }
+    }
+
+    @Test
+    void getById_NotFound_ReturnsNull() throws Exception {
+        String id = UUID.randomUUID().toString();
+        try (MockWebServer upstream = new MockWebServer()) {
+            upstream.enqueue(json(rosterResponse()));
+            upstream.enqueue(new MockResponse().setResponseCode(404));
 
-        when(getByIdHeadersSpec.exchangeToMono(any())).then(inv -> {
-            var fn = inv.getArgument(0, java.util.function.Function.class);
-            return (Mono) fn.apply(clientResponse);
-        });
+            assertNull(service(upstream).getById(id));
 
-        when(clientResponse.statusCode()).thenReturn(HttpStatus.OK);
+            upstream.takeRequest();
+            assertGetById(upstream, id);
+        }
+    }
+
+    // ------------------------------------------------------------
+    // GET BY ID from cached snapshot
+    // ------------------------------------------------------------
+    @Test
+    void getById_ServedFromSnapshot_WithoutUpstreamCall() {
+        UUID uuid = UUID.randomUUID();
 
         Employee e = new Employee();
         e.setId(uuid.toString());
-        e.setEmployeeName("John");
+        e.setEmployeeName("Cached");
 
-        SingleEmployeeResponse ser = new SingleEmployeeResponse();
-        ser.setData(e);
-
-        when(clientResponse.bodyToMono(SingleEmployeeResponse.class)).thenReturn(Mono.just(ser));
+        when(getResponseSpec.bodyToFlux(DataBuffer.class)).thenReturn(roster(e));
 
         Employee result = service.getById(uuid.toString());
 
         assertNotNull(result);
-        assertEquals("John", result.getEmployeeName());
+        assertEquals("Cached", result.getEmployeeName());
+        verify(webClient, times(1)).get();
     }
 
     // ------------------------------------------------------------
-    // GET BY ID NotFound
+    // GET BY ID NotFound is remembered
     // ------------------------------------------------------------
     @Test
-    void getById_NotFound_ReturnsNull() {
-        UUID uuid = UUID.randomUUID();
-
-        when(webClient.get()).thenReturn(getByIdUriSpec);
-        when(getByIdUriSpec.uri("/{id}", uuid)).thenReturn(getByIdHeadersSpec);
-
-        when(getByIdHeadersSpec.exchangeToMono(any())).then(inv -> {
-            var fn = inv.getArgument(0, java.util.function.Function.class);
-            return (Mono) fn.apply(clientResponse);
-        });
-
-        when(clientResponse.statusCode()).thenReturn(HttpStatus.NOT_FOUND);
-
-        Employee result = service.getById(uuid.toString());
-
-        assertNull(result);
+    void getById_NotFound_IsNegativelyCached() throws Exception {
+        String id = UUID.randomUUID().toString();
+        try (MockWebServer upstream = new MockWebServer()) {
+            upstream.enqueue(json(rosterResponse()));
+            upstream.enqueue(new MockResponse().setResponseCode(404));
+            EmployeeService http = service(upstream);
+
+            assertNull(http.getById(id));
+            assertNull(http.getById(id));
+
+            assertEquals(2, upstream.getRequestCount());
+            upstream.takeRequest();
+            assertGetById(upstream, id);
+        }
     }
 
     // ------------------------------------------------------------
@@ -185,37 +238,315 @@ class EmployeeServiceTest {
     }
 
     // ------------------------------------------------------------
-    // DELETE success
+    // DELETE success: name from the snapshot, one upstream DELETE
     // ------------------------------------------------------------
     @Test
-    void delete_ReturnsTrue() throws JsonProcessingException {
-        UUID uuid = UUID.randomUUID();
+    void delete_ReturnsDeletedName_WithSingleUpstreamDelete() {
+        Employee e = employee("ToDelete", 100);
+        when(getResponseSpec.bodyToFlux(DataBuffer.class)).thenReturn(roster(e));
+        when(deleteResponseSpec.toBodilessEntity()).thenReturn(Mono.empty());
 
-        // mock getById call inside delete()
-        when(webClient.get()).thenReturn(getByIdUriSpec);
-        when(getByIdUriSpec.uri("/{id}", uuid)).thenReturn(getByIdHeadersSpec);
+        String result = service.delete(e.getId());
 
-        when(getByIdHeadersSpec.exchangeToMono(any())).then(inv -> {
-            var fn = inv.getArgument(0, java.util.function.Function.class);
-            return (Mono) fn.apply(clientResponse);
-        });
+        assertEquals("ToDelete", result);
+        assertNull(service.getById(e.getId()));
+        verify(deleteUriSpec).bodyValue(Map.of("name", "ToDelete"));
+        verify(webClient, times(1)).method(HttpMethod.DELETE);
+        verify(webClient, times(1)).get();
+    }
 
-        when(clientResponse.statusCode()).thenReturn(HttpStatus.OK);
+    // ------------------------------------------------------------
+    // POST create is written through to the snapshot
+    // ------------------------------------------------------------
+    @Test
+    void create_PatchesSnapshot_WithoutReload() {
+        when(getResponseSpec.bodyToFlux(DataBuffer.class)).thenReturn(roster(employee("Existing", 100)));
+        assertEquals(1, service.getAll().size());
 
-        Employee e = new Employee();
-        e.setId(uuid.toString());
-        e.setEmployeeName("ToDelete");
+        Employee created = employee("Created", 900);
+        SingleEmployeeResponse ser = new SingleEmployeeResponse();
+        ser.setData(created);
+        when(postResponseSpec.bodyToMono(SingleEmployeeResponse.class)).thenReturn(Mono.just(ser));
+
+        service.create(new CreateEmployeeDTO("Created", 900, 30, "Dev", "IT"));
+
+        assertEquals(2, service.getAll().size());
+        assertEquals(900, service.getHighestSalary());
+        assertEquals("Created", service.getById(created.getId()).getEmployeeName());
+        verify(webClient, times(1)).get();
+    }
+
+    // ------------------------------------------------------------
+    // Read results are encoded once per snapshot version
+    // ------------------------------------------------------------
+    @Test
+    void getAll_ReusesEncodingUntilSnapshotChanges() throws JsonProcessingException {
+        when(getResponseSpec.bodyToFlux(DataBuffer.class)).thenReturn(roster(employee("Existing", 100)));
 
+        List<Employee> first = service.getAll();
+        assertSame(first, service.getAll());
+        EncodedList<?> encoded = assertInstanceOf(EncodedList.class, first);
+        assertArrayEquals(MAPPER.writeValueAsBytes(List.copyOf(first)), encoded.getJson());
+        assertSame(service.getTopEarnerNames(10), service.getTopEarnerNames(10));
+
+        Employee created = employee("Created", 900);
         SingleEmployeeResponse ser = new SingleEmployeeResponse();
-        ser.setData(e);
+        ser.setData(created);
+        when(postResponseSpec.bodyToMono(SingleEmployeeResponse.class)).thenReturn(Mono.just(ser));
+        service.create(new CreateEmployeeDTO("Created", 900, 30, "Dev", "IT"));
 
-        when(clientResponse.bodyToMono(SingleEmployeeResponse.class)).thenReturn(Mono.just(ser));
+        List<Employee> patched = service.getAll();
+        assertNotSame(first, patched);
+        assertNotEquals(encoded.getETag(), ((EncodedList<?>) patched).getETag());
+        assertEquals(List.of("Created", "Existing"), service.getTopEarnerNames(10));
+    }
 
-        // mock DELETE success
-        when(deleteResponseSpec.toBodilessEntity()).thenReturn(Mono.empty());
+    // ------------------------------------------------------------
+    // Batch create reports every item
+    // ------------------------------------------------------------
+    @Test
+    void createAll_ReportsResultPerItem() {
+        Employee created = employee("Created", 100);
+        SingleEmployeeResponse ser = new SingleEmployeeResponse();
+        ser.setData(created);
+        when(postResponseSpec.bodyToMono(SingleEmployeeResponse.class))
+                .thenReturn(Mono.just(ser))
+                .thenReturn(Mono.error(new IllegalStateException("boom")));
+
+        List<BatchCreateResult> results = reactiveService
+                .createAll(List.of(
+                        new CreateEmployeeDTO("Created", 100, 30, "Dev", "IT"),
+                        new CreateEmployeeDTO("Broken", 100, 30, "Dev", "IT")))
+                .collectSortedList(Comparator.comparingInt(BatchCreateResult::getIndex))
+                .block();
+
+        assertEquals(2, results.size());
+        assertEquals(BatchCreateResult.Status.CREATED, results.get(0).getStatus());
+        assertSame(created, results.get(0).getEmployee());
+        assertEquals(BatchCreateResult.Status.FAILED, results.get(1).getStatus());
+        assertEquals("boom", results.get(1).getError());
+    }
 
-        boolean result = service.delete(uuid.toString());
+    // ------------------------------------------------------------
+    // DELETE of an id the snapshot does not have yet, over HTTP
+    // ------------------------------------------------------------
+    @Test
+    void delete_IdMissingFromSnapshot_ResolvesNameFromUpstream() throws Exception {
+        Employee newcomer = employee("Newcomer", 100);
+        try (MockWebServer upstream = new MockWebServer()) {
+            upstream.enqueue(json(rosterResponse(employee("Someone", 100))));
+            upstream.enqueue(json(singleResponse(newcomer)));
+            upstream.enqueue(new MockResponse());
+
+            assertEquals("Newcomer", service(upstream).delete(newcomer.getId()));
+
+            upstream.takeRequest();
+            assertGetById(upstream, newcomer.getId());
+            RecordedRequest delete = upstream.takeRequest();
+            assertEquals("DELETE", delete.getMethod());
+            assertEquals("/api/v1/employee", delete.getPath());
+            assertEquals(Map.of("name", "Newcomer"), MAPPER.readValue(delete.getBody().readUtf8(), Map.class));
+        }
+    }
+
+    @Test
+    void delete_UnknownId_ReturnsNull_WithoutUpstreamDelete() throws Exception {
+        String id = UUID.randomUUID().toString();
+        try (MockWebServer upstream = new MockWebServer()) {
+            upstream.enqueue(json(rosterResponse(employee("Someone", 100))));
+            upstream.enqueue(new MockResponse().setResponseCode(404));
+            EmployeeService http = service(upstream);
+
+            assertNull(http.delete(id));
+            // the 404 is remembered, so the second delete does not ask again
+            assertNull(http.delete(id));
+
+            assertEquals(2, upstream.getRequestCount());
+            upstream.takeRequest();
+            assertGetById(upstream, id);
+        }
+    }
+
+    // ------------------------------------------------------------
+    // DELETE refused by the upstream with 404
+    // ------------------------------------------------------------
+    @Test
+    void delete_UpstreamNotFound_ReturnsNull() {
+        Employee e = employee("Gone", 100);
+        when(getResponseSpec.bodyToFlux(DataBuffer.class)).thenReturn(roster(e));
+        when(deleteResponseSpec.toBodilessEntity())
+                .thenReturn(Mono.error(WebClientResponseException.create(404, "Not Found", HttpHeaders.EMPTY, new byte[0], null)));
+
+        assertNull(service.delete(e.getId()));
+    }
+
+    // ------------------------------------------------------------
+    // GET ALL body split across many small buffers
+    // ------------------------------------------------------------
+    @Test
+    void getAll_DecodesRosterSplitAcrossBuffers() throws JsonProcessingException {
+        List<Employee> employees = List.of(employee("A", 100), employee("B", 200), employee("C", 300));
+        EmployeesResponse resp = new EmployeesResponse();
+        resp.setData(employees);
+        resp.setStatus("Successfully processed request.");
+        byte[] json = MAPPER.writeValueAsBytes(resp);
+
+        Flux<DataBuffer> chunks = Flux.range(0, (json.length + 6) / 7)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(json, i * 7, Math.min(json.length, i * 7 + 7))));
+        when(getResponseSpec.bodyToFlux(DataBuffer.class)).thenReturn(chunks);
+
+        assertEquals(employees, service.getAll());
+    }
+
+    @Test
+    void getAll_DecodesNdjsonRosterStreamedInChunks() throws JsonProcessingException {
+        List<Employee> employees = List.of(employee("A", 100), employee("B", 200), employee("C", 300));
+        StringBuilder lines = new StringBuilder();
+        for (Employee e : employees) {
+            lines.append(MAPPER.writeValueAsString(e)).append('\n');
+        }
+        byte[] ndjson = lines.toString().getBytes(StandardCharsets.UTF_8);
+
+        Flux<DataBuffer> chunks = Flux.range(0, (ndjson.length + 6) / 7)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(ndjson, i * 7, Math.min(ndjson.length, i * 7 + 7))));
+        when(getResponseSpec.toEntityFlux(DataBuffer.class))
+                .thenReturn(Mono.just(
+                        ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(chunks)));
+
+        assertEquals(employees, service.getAll());
+        verify(getUriSpec).accept(MediaType.APPLICATION_NDJSON, MediaType.parseMediaType("application/json;q=0.9"));
+    }
 
-        assertTrue(result);
+    // ------------------------------------------------------------
+    // Open circuit: reads keep the last-known-good roster, writes fail fast
+    // ------------------------------------------------------------
+    @Test
+    void openCircuit_ServesLastKnownGood_AndFailsWritesFast() {
+        fixture.cache.setRefreshAfter(Duration.ZERO);
+        fixture.cache.setFailureBackoff(Duration.ZERO);
+        fixture.resilience.setSlidingWindowSize(1);
+        fixture.resilience.setMinimumNumberOfCalls(1);
+        ReactiveEmployeeService guarded = fixture.service(webClient);
+        WebClientResponseException unavailable =
+                WebClientResponseException.create(503, "Service Unavailable", HttpHeaders.EMPTY, new byte[0], null);
+        when(getResponseSpec.bodyToFlux(DataBuffer.class))
+                .thenReturn(roster(employee("Known", 100)))
+                .thenReturn(Flux.error(unavailable));
+        when(postResponseSpec.bodyToMono(SingleEmployeeResponse.class)).thenReturn(Mono.error(unavailable));
+
+        assertEquals(1, guarded.getAll().block().size());
+        assertFalse(guarded.isServingStale());
+        // the background refresh fails and opens the list circuit; the next one is not attempted
+        assertEquals(1, guarded.getAll().block().size());
+        assertEquals(1, guarded.getAll().block().size());
+        assertTrue(guarded.isServingStale());
+        assertEquals(2, fixture.upstreamCalls("list"));
+
+        CreateEmployeeDTO input = new CreateEmployeeDTO("New", 100, 30, "Dev", "IT");
+        assertThrows(WebClientResponseException.class, () -> guarded.create(input).block());
+        assertThrows(UpstreamUnavailableException.class, () -> guarded.create(input).block());
+        assertEquals(1, fixture.upstreamCalls("create"));
+    }
+
+    // ------------------------------------------------------------
+    // Delta refresh
+    // ------------------------------------------------------------
+    @Test
+    void refresh_AppliesUpstreamChangesInsteadOfReloadingRoster() {
+        fixture.cache.setRefreshAfter(Duration.ZERO);
+        fixture.cache.setExpireAfter(Duration.ZERO);
+        ReactiveEmployeeService syncing = fixture.service(webClient);
+        Employee kept = employee("Kept", 100);
+        Employee leaving = employee("Leaving", 300);
+        Employee joining = employee("Joining", 200);
+        when(getResponseSpec.toEntityFlux(DataBuffer.class))
+                .thenReturn(Mono.just(
+                        ResponseEntity.ok().header("X-Roster-Cursor", "e.2").body(roster(kept, leaving))));
+        when(getUriSpec.uri(eq("/changes?since={cursor}"), (Object) any())).thenReturn(getHeadersSpec);
+        when(getHeadersSpec.retrieve()).thenReturn(getResponseSpec);
+        when(getResponseSpec.bodyToMono(EmployeeChangesResponse.class))
+                .thenReturn(Mono.just(changes(
+                        "e.4",
+                        change(EmployeeChange.Type.CREATED, joining),
+                        change(EmployeeChange.Type.DELETED, leaving))))
+                .thenReturn(Mono.just(changes("e.4")));
+
+        assertEquals(300, syncing.getHighestSalary().block());
+        List<Employee> refreshed = syncing.getAll().block();
+        assertEquals(List.of(kept, joining), refreshed);
+        assertEquals(200, syncing.getHighestSalary().block());
+
+        verify(getUriSpec).uri("/changes?since={cursor}", "e.2");
+        verify(getUriSpec).uri("/changes?since={cursor}", "e.4");
+        assertEquals(1, fixture.upstreamCalls("list"));
+        assertEquals(2, fixture.upstreamCalls("changes"));
+    }
+
+    /** The service over a real HTTP client pointed at {@code upstream} */
+    private EmployeeService service(MockWebServer upstream) {
+        String baseUrl = upstream.url("/api/v1/employee").toString();
+        return new EmployeeService(fixture.service(WebClient.create(baseUrl)));
+    }
+
+    /** Takes the next request and checks it asked the by-id endpoint for {@code id} */
+    private static void assertGetById(MockWebServer upstream, String id) throws InterruptedException {
+        RecordedRequest request = upstream.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(request, "no request for " + id);
+        assertEquals("GET", request.getMethod());
+        assertEquals("/api/v1/employee/" + id, request.getPath());
+    }
+
+    private static MockResponse json(Object body) throws JsonProcessingException {
+        return new MockResponse()
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(MAPPER.writeValueAsString(body));
+    }
+
+    private static EmployeesResponse rosterResponse(Employee... employees) {
+        EmployeesResponse resp = new EmployeesResponse();
+        resp.setData(List.of(employees));
+        return resp;
+    }
+
+    private static SingleEmployeeResponse singleResponse(Employee employee) {
+        SingleEmployeeResponse resp = new SingleEmployeeResponse();
+        resp.setData(employee);
+        return resp;
+    }
+
+    private static EmployeeChangesResponse changes(String cursor, EmployeeChange... changes) {
+        EmployeeChanges data = new EmployeeChanges();
+        data.setCursor(cursor);
+        data.setChanges(List.of(changes));
+        EmployeeChangesResponse resp = new EmployeeChangesResponse();
+        resp.setData(data);
+        return resp;
+    }
+
+    private static EmployeeChange change(EmployeeChange.Type type, Employee employee) {
+        EmployeeChange change = new EmployeeChange();
+        change.setType(type);
+        change.setId(employee.getId());
+        change.setEmployee(type == EmployeeChange.Type.CREATED ? employee : null);
+        return change;
+    }
+
+    private static Flux<DataBuffer> roster(Employee... employees) {
+        try {
+            return Flux.just(
+                    DefaultDataBufferFactory.sharedInstance.wrap(MAPPER.writeValueAsBytes(rosterResponse(employees))));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Employee employee(String name, Integer salary) {
+        Employee e = new Employee();
+        e.setId(UUID.randomUUID().toString());
+        e.setEmployeeName(name);
+        e.setEmployeeSalary(salary);
+        return e;
     }
 }
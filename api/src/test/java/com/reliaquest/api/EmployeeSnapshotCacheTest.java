@@ -0,0 +1,507 @@
+package com.reliaquest.api;
+
+import static com.reliaquest.api.model.EmployeeChange.Type.CREATED;
+import static com.reliaquest.api.model.EmployeeChange.Type.DELETED;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.RosterUpdate;
+import com.reliaquest.api.cache.SnapshotFile;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class EmployeeSnapshotCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Deque<Mono<List<Employee>>> responses = new ArrayDeque<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private EmployeeSnapshotCache cache;
+
+    @BeforeEach
+    void setup() {
+        EmployeeCacheProperties properties = new EmployeeCacheProperties();
+        properties.setRefreshAfter(Duration.ofSeconds(30));
+        properties.setExpireAfter(Duration.ofMinutes(5));
+        properties.setFailureBackoff(Duration.ofSeconds(5));
+        cache = new EmployeeSnapshotCache(
+                () -> {
+                    loads.incrementAndGet();
+                    return responses.pop();
+                },
+                properties,
+                clock,
+                registry);
+    }
+
+    // ------------------------------------------------------------
+    // Fresh snapshot
+    // ------------------------------------------------------------
+    @Test
+    void get_WithinRefreshAfter_ServesCachedSnapshot() {
+        responses.add(Mono.just(List.of(employee("A"))));
+
+        EmployeeSnapshot first = cache.get().block();
+        clock.advance(Duration.ofSeconds(10));
+        EmployeeSnapshot second = cache.get().block();
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    // ------------------------------------------------------------
+    // Soft TTL
+    // ------------------------------------------------------------
+    @Test
+    void get_PastRefreshAfter_ServesStaleAndRefreshesInBackground() {
+        responses.add(Mono.just(List.of(employee("A"))));
+        EmployeeSnapshot first = cache.get().block();
+
+        Sinks.One<List<Employee>> pending = Sinks.one();
+        responses.add(pending.asMono());
+        clock.advance(Duration.ofSeconds(31));
+
+        assertSame(first, cache.get().block());
+        assertSame(first, cache.get().block());
+        assertEquals(2, loads.get());
+
+        pending.tryEmitValue(List.of(employee("B")));
+
+        EmployeeSnapshot refreshed = cache.get().block();
+        assertEquals("B", refreshed.getEmployees().get(0).getEmployeeName());
+        assertTrue(refreshed.getVersion() > first.getVersion());
+    }
+
+    // ------------------------------------------------------------
+    // Serve stale on error
+    // ------------------------------------------------------------
+    @Test
+    void get_FailedRefresh_KeepsLastGoodSnapshotAndBacksOff() {
+        responses.add(Mono.just(List.of(employee("A"))));
+        EmployeeSnapshot first = cache.get().block();
+
+        responses.add(Mono.error(new IllegalStateException("429")));
+        clock.advance(Duration.ofMinutes(6));
+
+        assertSame(first, cache.get().block());
+        assertSame(first, cache.get().block());
+        assertEquals(2, loads.get());
+
+        responses.add(Mono.just(List.of(employee("B"))));
+        clock.advance(Duration.ofSeconds(6));
+
+        assertEquals("B", cache.get().block().getEmployees().get(0).getEmployeeName());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_FailedColdLoad_ErrorsWithoutCaching() {
+        responses.add(Mono.error(new IllegalStateException("429")));
+
+        assertThrows(IllegalStateException.class, () -> cache.get().block());
+
+        responses.add(Mono.just(List.of(employee("A"))));
+        clock.advance(Duration.ofSeconds(6));
+
+        assertEquals(1, cache.get().block().size());
+    }
+
+    // ------------------------------------------------------------
+    // Invalidate
+    // ------------------------------------------------------------
+    @Test
+    void invalidate_ForcesReloadButKeepsFallback() {
+        responses.add(Mono.just(List.of(employee("A"))));
+        EmployeeSnapshot first = cache.get().block();
+
+        cache.invalidate();
+        responses.add(Mono.error(new IllegalStateException("429")));
+
+        assertSame(first, cache.get().block());
+        assertEquals(2, loads.get());
+    }
+
+    // ------------------------------------------------------------
+    // Metrics
+    // ------------------------------------------------------------
+    @Test
+    void get_RecordsHitsMissesLoadsAndSnapshotGauges() {
+        responses.add(Mono.just(List.of(employee("A"), employee("B"))));
+
+        cache.get().block();
+        clock.advance(Duration.ofSeconds(10));
+        cache.get().block();
+
+        assertEquals(1, registry.get("employee.snapshot.requests").tag("result", "miss").counter().count());
+        assertEquals(1, registry.get("employee.snapshot.requests").tag("result", "hit").counter().count());
+        assertEquals(1, registry.get("employee.snapshot.loads").tag("outcome", "success").timer().count());
+        assertEquals(2, registry.get("employee.snapshot.size").gauge().value());
+        assertEquals(10, registry.get("employee.snapshot.age").gauge().value());
+    }
+
+    // ------------------------------------------------------------
+    // Write-through patches
+    // ------------------------------------------------------------
+    @Test
+    void addedAndRemoved_PatchSnapshotWithoutReload() {
+        responses.add(Mono.just(List.of(employee("Alice", 100))));
+        EmployeeSnapshot first = cache.get().block();
+
+        Employee bob = employee("Bob", 500);
+        cache.added(bob);
+        EmployeeSnapshot patched = cache.get().block();
+
+        assertEquals(2, patched.size());
+        assertTrue(patched.getVersion() > first.getVersion());
+        assertEquals(bob, patched.findById(UUID.fromString(bob.getId())));
+        assertEquals(500, patched.highestSalary());
+        assertEquals(List.of(bob), patched.searchByName("bob"));
+        assertEquals(first.getLoadedAt(), patched.getLoadedAt());
+
+        cache.removed(UUID.fromString(bob.getId()));
+        EmployeeSnapshot removed = cache.get().block();
+
+        assertEquals(1, removed.size());
+        assertTrue(removed.getVersion() > patched.getVersion());
+        assertNull(removed.findById(UUID.fromString(bob.getId())));
+        assertEquals(100, removed.highestSalary());
+        assertEquals(List.of("Alice"), removed.topEarnerNames(10));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void added_DuringLoad_IsReplayedOntoLoadedRoster() {
+        Employee alice = employee("Alice", 100);
+        responses.add(Mono.just(List.of(alice)));
+        cache.get().block();
+
+        Sinks.One<List<Employee>> pending = Sinks.one();
+        responses.add(pending.asMono());
+        clock.advance(Duration.ofSeconds(31));
+        cache.get().block();
+
+        Employee carol = employee("Carol", 300);
+        cache.added(carol);
+        pending.tryEmitValue(List.of(alice));
+
+        EmployeeSnapshot refreshed = cache.get().block();
+        assertEquals(2, refreshed.size());
+        assertEquals(carol, refreshed.findById(UUID.fromString(carol.getId())));
+        assertEquals(List.of("Carol", "Alice"), refreshed.topEarnerNames(10));
+    }
+
+    // ------------------------------------------------------------
+    // Delta refresh
+    // ------------------------------------------------------------
+    @Test
+    void refresh_WithCursor_AppliesUpstreamChangesToSnapshot() {
+        Employee alice = employee("Alice", 100);
+        Employee bob = employee("Bob", 500);
+        Employee carol = employee("Carol", 300);
+        Employee dave = employee("Dave", 400);
+        Deque<RosterUpdate> updates = new ArrayDeque<>(List.of(
+                RosterUpdate.full(List.of(alice, bob), "e.2"),
+                RosterUpdate.changes(
+                        List.of(
+                                change(CREATED, carol),
+                                change(DELETED, bob),
+                                change(CREATED, dave),
+                                change(DELETED, dave)),
+                        "e.6"),
+                RosterUpdate.changes(List.of(), "e.6")));
+        List<String> cursors = new ArrayList<>();
+        EmployeeSnapshotCache syncing = new EmployeeSnapshotCache(
+                cursor -> {
+                    cursors.add(cursor);
+                    return Mono.just(updates.pop());
+                },
+                new EmployeeCacheProperties(),
+                clock,
+                registry);
+
+        EmployeeSnapshot loaded = syncing.get().block();
+        clock.advance(Duration.ofMinutes(10));
+        EmployeeSnapshot changed = syncing.get().block();
+        clock.advance(Duration.ofMinutes(10));
+        EmployeeSnapshot unchanged = syncing.get().block();
+
+        assertEquals(Arrays.asList(null, "e.2", "e.6"), cursors);
+        assertEquals(List.of(alice, carol), changed.getEmployees());
+        assertEquals(List.of("Carol", "Alice"), changed.topEarnerNames(10));
+        assertEquals(List.of(carol), changed.searchByName("car"));
+        assertTrue(changed.getVersion() > loaded.getVersion());
+        assertEquals(clock.instant().minus(Duration.ofMinutes(10)), changed.getLoadedAt());
+        assertEquals(changed.getVersion(), unchanged.getVersion());
+        assertEquals(clock.instant(), unchanged.getLoadedAt());
+        assertEquals(1, registry.get("employee.snapshot.loads").tag("kind", "full").timer().count());
+        assertEquals(2, registry.get("employee.snapshot.loads").tag("kind", "delta").timer().count());
+    }
+
+    // ------------------------------------------------------------
+    // Columnar storage
+    // ------------------------------------------------------------
+    @Test
+    void snapshot_MaterializesEmployeesFromColumns() {
+        Employee alice = employee("Alice", 100);
+        alice.setEmployeeAge(30);
+        alice.setEmployeeTitle("Engineer");
+        alice.setEmployeeEmail("alice@example.com");
+        Employee bob = employee("Bob", null);
+        bob.setEmployeeTitle("Engineer");
+        Employee legacy = employee("Zoe");
+        legacy.setId("not-a-uuid");
+
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, clock.instant(), List.of(alice, bob, legacy));
+
+        assertEquals(List.of(alice, bob, legacy), snapshot.getEmployees());
+        Employee found = snapshot.findById(UUID.fromString(alice.getId()));
+        assertEquals(alice, found);
+        assertNotSame(found, snapshot.findById(UUID.fromString(alice.getId())));
+        assertEquals(List.of(legacy), snapshot.searchByName("zo"));
+        assertEquals(List.of("Alice"), snapshot.topEarnerNames(10));
+
+        EmployeeSnapshot patched = snapshot.without(2, UUID.fromString(alice.getId()));
+        assertEquals(List.of(bob, legacy), patched.getEmployees());
+        assertEquals(0, patched.highestSalary());
+    }
+
+    @Test
+    void snapshot_PatchesLeaveEarlierSnapshotsIntact() {
+        Employee alice = employee("Alice", 100);
+        Employee bob = employee("Bob", 200);
+        EmployeeSnapshot base = new EmployeeSnapshot(1, clock.instant(), List.of(alice, bob));
+        Employee richerAlice = employee("Alice Cooper", 300);
+        richerAlice.setId(alice.getId());
+
+        EmployeeSnapshot replaced = base.with(2, richerAlice);
+        EmployeeSnapshot removed = base.without(3, UUID.fromString(bob.getId()));
+        Employee carol = employee("Carol", 50);
+        EmployeeSnapshot grown = replaced.with(4, carol);
+
+        assertEquals(List.of(alice, bob), base.getEmployees());
+        assertEquals(List.of("Bob", "Alice"), base.topEarnerNames(10));
+        assertEquals(List.of(bob, richerAlice), replaced.getEmployees());
+        assertEquals(List.of(richerAlice), replaced.searchByName("alice"));
+        assertEquals(richerAlice, replaced.findById(UUID.fromString(alice.getId())));
+        assertEquals(300, replaced.highestSalary());
+        assertEquals(List.of(alice), removed.getEmployees());
+        assertEquals(100, removed.highestSalary());
+        assertNull(removed.findById(UUID.fromString(bob.getId())));
+        assertEquals(List.of(bob, richerAlice, carol), grown.getEmployees());
+        assertEquals(List.of("Alice Cooper", "Bob", "Carol"), grown.topEarnerNames(10));
+        assertEquals(alice, base.findById(UUID.fromString(alice.getId())));
+    }
+
+    @Test
+    void snapshot_PatchedConcurrentlyFromOlderSnapshots_KeepsEachLineageApart() throws Exception {
+        Employee alice = employee("Alice", 100);
+        Employee bob = employee("Bob", 200);
+        EmployeeSnapshot base = new EmployeeSnapshot(1, clock.instant(), List.of(alice, bob));
+        UUID bobId = UUID.fromString(bob.getId());
+        int threads = 8;
+        int additions = 150;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> lineages = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String prefix = "Thread" + (char) ('A' + t) + " ";
+            lineages.add(executor.submit(() -> {
+                start.await();
+                EmployeeSnapshot lineage = base;
+                List<Employee> expected = new ArrayList<>(List.of(alice, bob));
+                for (int i = 0; i < additions; i++) {
+                    Employee added = employee(prefix + i, 1000 + i);
+                    EmployeeSnapshot older = lineage;
+                    lineage = lineage.with(2 + i, added);
+                    expected.add(added);
+                    if (i % 3 == 2) {
+                        Employee dropped = expected.remove(expected.size() - 2);
+                        lineage = lineage.without(2 + i, UUID.fromString(dropped.getId()));
+                    }
+                    // the shared snapshot and the one just superseded are no longer the newest; both get patched again
+                    assertEquals(List.of(alice), base.without(2 + i, bobId).getEmployees());
+                    Employee extra = employee(prefix + "extra", 1);
+                    assertEquals(extra, older.with(2 + i, extra).findById(UUID.fromString(extra.getId())));
+                    assertEquals(expected, lineage.getEmployees());
+                }
+                assertEquals(1000 + additions - 1, lineage.highestSalary());
+                assertEquals(expected.subList(2, expected.size()), lineage.searchByName(prefix));
+                assertEquals(bob, lineage.findById(bobId));
+                return null;
+            }));
+        }
+        start.countDown();
+
+        for (Future<?> lineage : lineages) {
+            lineage.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertEquals(List.of(alice, bob), base.getEmployees());
+        assertEquals(List.of("Bob", "Alice"), base.topEarnerNames(10));
+        assertEquals(List.of(), base.searchByName("thread"));
+    }
+
+    @Test
+    void snapshot_ManyPatches_CompactTombstones() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            roster.add(employee("Employee " + i, i));
+        }
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, clock.instant(), roster);
+        for (int i = 0; i < 1000; i++) {
+            Employee raised = employee("Employee " + (i % 100), 1000 + i);
+            raised.setId(roster.get(i % 100).getId());
+            snapshot = snapshot.with(2 + i, raised);
+        }
+
+        assertEquals(100, snapshot.size());
+        assertEquals(1999, snapshot.highestSalary());
+        assertEquals(List.of("Employee 99", "Employee 98"), snapshot.topEarnerNames(2));
+        assertEquals(1, snapshot.searchByName("employee 42").size());
+        assertEquals(1942, snapshot.findById(UUID.fromString(roster.get(42).getId())).getEmployeeSalary());
+    }
+
+    @Test
+    void snapshot_Applying_MatchesPatchingOneChangeAtATime_ForSmallAndLargeBatches() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            roster.add(employee("Employee " + i, i * 10));
+        }
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, clock.instant(), roster);
+        Employee raised = employee("Employee 3", 500);
+        raised.setId(roster.get(3).getId());
+        Employee hired = employee("Hired", 5);
+
+        for (int deleted : new int[] {1, 8}) {
+            List<EmployeeChange> changes = new ArrayList<>();
+            EmployeeSnapshot expected = snapshot;
+            for (int i = 0; i < deleted; i++) {
+                changes.add(change(DELETED, roster.get(9 - i)));
+                expected = expected.without(2, UUID.fromString(roster.get(9 - i).getId()));
+            }
+            changes.add(change(CREATED, raised));
+            changes.add(change(CREATED, hired));
+            expected = expected.with(2, raised).with(2, hired);
+
+            EmployeeSnapshot applied = snapshot.applying(2, clock.instant(), changes, "e.1");
+
+            assertEquals(expected.getEmployees(), applied.getEmployees());
+            assertEquals(500, applied.highestSalary());
+            assertEquals(expected.topEarnerNames(3), applied.topEarnerNames(3));
+            assertEquals(List.of(raised), applied.searchByName("employee 3"));
+            assertEquals(10, snapshot.size());
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Snapshot file
+    // ------------------------------------------------------------
+    @Test
+    void snapshotFile_RoundTripsEmployees_AndIgnoresCorruption(@TempDir Path dir) throws IOException {
+        Employee alice = employee("Alice", 100);
+        alice.setEmployeeAge(30);
+        alice.setEmployeeEmail("alice@example.com");
+        Employee bob = employee("Bob");
+        SnapshotFile file = new SnapshotFile(dir.resolve("roster.bin"));
+
+        file.write(new EmployeeSnapshot(7, clock.instant(), List.of(alice, bob), "e.12"));
+        EmployeeSnapshot read = file.read().orElseThrow();
+
+        assertEquals(7, read.getVersion());
+        assertEquals(clock.instant(), read.getLoadedAt());
+        assertEquals("e.12", read.getCursor());
+        assertEquals(List.of(alice, bob), read.getEmployees());
+        assertEquals(100, read.highestSalary());
+
+        byte[] bytes = Files.readAllBytes(file.getPath());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file.getPath(), bytes);
+        assertTrue(file.read().isEmpty());
+    }
+
+    @Test
+    void restart_ServesSavedSnapshotWhileRevalidating(@TempDir Path dir) throws InterruptedException {
+        EmployeeCacheProperties properties = new EmployeeCacheProperties();
+        properties.setSnapshotFile(dir.resolve("roster.bin"));
+        Supplier<Mono<List<Employee>>> loader = () -> {
+            loads.incrementAndGet();
+            return responses.pop();
+        };
+        EmployeeSnapshotCache first = new EmployeeSnapshotCache(loader, properties, clock, new SimpleMeterRegistry());
+        responses.add(Mono.just(List.of(employee("Alice", 100))));
+        first.get().block();
+        first.added(employee("Bob", 200));
+        awaitSaved(new SnapshotFile(properties.getSnapshotFile()), 2);
+
+        Sinks.One<List<Employee>> pending = Sinks.one();
+        responses.add(pending.asMono());
+        clock.advance(Duration.ofSeconds(10));
+        EmployeeSnapshotCache restarted =
+                new EmployeeSnapshotCache(loader, properties, clock, new SimpleMeterRegistry());
+
+        EmployeeSnapshot restored = restarted.get().block();
+        assertEquals(List.of("Bob", "Alice"), restored.topEarnerNames(10));
+        assertEquals(2, loads.get());
+
+        pending.tryEmitValue(List.of(employee("Carol", 300)));
+        EmployeeSnapshot revalidated = restarted.get().block();
+        assertEquals(List.of("Carol"), revalidated.topEarnerNames(10));
+        assertTrue(revalidated.getVersion() > restored.getVersion());
+    }
+
+    /** Saves happen in the background; waits for one with {@code size} employees. */
+    private static void awaitSaved(SnapshotFile file, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (file.read().map(EmployeeSnapshot::size).orElse(0) != size) {
+            assertTrue(System.nanoTime() < deadline, "snapshot not saved");
+            Thread.sleep(10);
+        }
+    }
+
+    private static EmployeeChange change(EmployeeChange.Type type, Employee employee) {
+        EmployeeChange change = new EmployeeChange();
+        change.setType(type);
+        change.setId(employee.getId());
+        change.setEmployee(type == CREATED ? employee : null);
+        return change;
+    }
+
+    private static Employee employee(String name) {
+        Employee e = new Employee();
+        e.setEmployeeName(name);
+        return e;
+    }
+
+    private static Employee employee(String name, Integer salary) {
+        Employee e = employee(name);
+        e.setId(UUID.randomUUID().toString());
+        e.setEmployeeSalary(salary);
+        return e;
+    }
+}
@@ -0,0 +1,98 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.cache.NameIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+
+    private final NameIndex index =
+            NameIndex.build(Arrays.asList("Alice Smith", "alicia Keys", null, "Bob", "Malice"));
+
+    @Test
+    void search_IsCaseInsensitiveSubstringMatch() {
+        assertArrayEquals(new int[] {0, 1, 4}, index.search("ALI"));
+        assertArrayEquals(new int[] {0}, index.search("ice smi"));
+        assertArrayEquals(new int[] {3}, index.search("bob"));
+    }
+
+    @Test
+    void search_ShortFragment_FallsBackToScan() {
+        assertArrayEquals(new int[] {0, 1, 4}, index.search("al"));
+        assertArrayEquals(new int[] {0, 1, 3, 4}, index.search(""));
+    }
+
+    @Test
+    void search_RejectsCandidatesWhoseTrigramsAreNotContiguous() {
+        // "Alice Smith" holds both "ali" and "smi" but not "alismi"
+        assertArrayEquals(new int[0], index.search("alismi"));
+        assertArrayEquals(new int[0], index.search("xyz"));
+    }
+
+    @Test
+    void plus_DerivesNewIndexWithoutChangingTheOriginal() {
+        NameIndex updated = index.plus(5, "Alina");
+
+        assertArrayEquals(new int[] {0, 1, 4, 5}, updated.search("ali"));
+        assertArrayEquals(new int[] {0, 1, 4}, index.search("ali"));
+        assertArrayEquals(new int[] {0, 1, 4}, index.search("al"));
+    }
+
+    @Test
+    void plus_OnAnOlderIndex_BranchesOffWithoutTouchingTheNewerOne() {
+        NameIndex alina = index.plus(5, "Alina");
+        NameIndex alinda = index.plus(5, "Alinda").plus(6, "Linus");
+
+        assertArrayEquals(new int[] {5}, alina.search("lina"));
+        assertArrayEquals(new int[0], alina.search("lind"));
+        assertArrayEquals(new int[] {5}, alinda.search("lind"));
+        assertArrayEquals(new int[] {5, 6}, alinda.search("lin"));
+        assertArrayEquals(new int[0], index.search("lin"));
+    }
+
+    @Test
+    void plus_ConcurrentlyOnOlderIndexes_KeepsEachLineageApart() throws Exception {
+        int threads = 8;
+        int additions = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> lineages = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String prefix = "thread" + (char) ('a' + t) + " ";
+            lineages.add(executor.submit(() -> {
+                start.await();
+                NameIndex lineage = index;
+                for (int i = 0; i < additions; i++) {
+                    int doc = index.size() + i;
+                    NameIndex older = lineage;
+                    lineage = lineage.plus(doc, prefix + "Person" + i);
+                    // the shared index and the one just superseded are no longer the newest; both get extended again
+                    assertArrayEquals(new int[] {0, 1, 4, doc}, index.plus(doc, prefix + "Alison").search("ali"));
+                    assertArrayEquals(new int[] {doc}, older.plus(doc, "Zed").search("zed"));
+                    assertArrayEquals(
+                            IntStream.rangeClosed(index.size(), doc).toArray(), lineage.search(prefix + "person"));
+                }
+                assertArrayEquals(new int[0], lineage.search("zed"));
+                return null;
+            }));
+        }
+        start.countDown();
+
+        for (Future<?> lineage : lineages) {
+            lineage.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertArrayEquals(new int[] {0, 1, 4}, index.search("ali"));
+        assertArrayEquals(new int[0], index.search("thread"));
+    }
+}
@@ -0,0 +1,204 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.BatchProperties;
+import com.reliaquest.api.controller.ReactiveEmployeeController;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.BatchCreateResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@WebMvcTest(ReactiveEmployeeController.class)
+@EnableConfigurationProperties(BatchProperties.class)
+class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @MockBean
+    private ReactiveEmployeeService service;
+
+    // ------------------------------------------------------
+    // GET /v2/employee/{id}
+    // ------------------------------------------------------
+    @Test
+    @DisplayName("v2 getEmployeeById - returns 200 with employee")
+    void getById_Returns200() throws Exception {
+        Employee e = new Employee();
+        e.setId("6ca4dc9b-c0c9-45e6-8498-79458fe9ecd0");
+        e.setEmployeeName("John");
+
+        when(service.getById("6ca4dc9b-c0c9-45e6-8498-79458fe9ecd0")).thenReturn(Mono.just(e));
+
+        performAsync(get("/v2/employee/{id}", "6ca4dc9b-c0c9-45e6-8498-79458fe9ecd0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employee_name").value("John"));
+    }
+
+    @Test
+    @DisplayName("v2 getEmployeeById - returns 404 when not found")
+    void getById_Returns404() throws Exception {
+        when(service.getById("6ca4dc9b-c0c9-45e6-8498-79458fe9ecd0")).thenReturn(Mono.empty());
+
+        performAsync(get("/v2/employee/{id}", "6ca4dc9b-c0c9-45e6-8498-79458fe9ecd0"))
+                .andExpect(status().isNotFound());
+    }
+
+    // ------------------------------------------------------
+    // GET /v2/employee/search/{fragment}
+    // ------------------------------------------------------
+    @Test
+    @DisplayName("v2 searchByName - returns 204 for empty result")
+    void search_Returns204() throws Exception {
+        when(service.searchByName("nobody")).thenReturn(Mono.just(List.of()));
+
+        performAsync(get("/v2/employee/search/{fragment}", "nobody")).andExpect(status().isNoContent());
+    }
+
+    // ------------------------------------------------------
+    // GET /v2/employee/topTenHighestEarningEmployeeNames
+    // ------------------------------------------------------
+    @Test
+    @DisplayName("v2 topTenHighestEarningEmployeeNames - returns service order")
+    void getTopTen_ReturnsList() throws Exception {
+        when(service.getTopEarnerNames(10)).thenReturn(Mono.just(List.of("B", "C", "A")));
+
+        performAsync(get("/v2/employee/topTenHighestEarningEmployeeNames"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("B"))
+                .andExpect(jsonPath("$[2]").value("A"));
+    }
+
+    @Test
+    @DisplayName("v2 topTenHighestEarningEmployeeNames - marks a last-known-good answer stale")
+    void getTopTen_MarksStaleSnapshot() throws Exception {
+        when(service.getTopEarnerNames(10)).thenReturn(Mono.just(List.of("B")));
+        when(service.isServingStale()).thenReturn(true);
+
+        performAsync(get("/v2/employee/topTenHighestEarningEmployeeNames"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.WARNING, "110 - \"Response is Stale\""));
+    }
+
+    // ------------------------------------------------------
+    // GET /v2/employee/highestSalary
+    // ------------------------------------------------------
+    @Test
+    @DisplayName("v2 highestSalary - answers a matching If-None-Match with 304")
+    void highestSalary_Returns304_WhenUnchanged() throws Exception {
+        when(service.getHighestSalary()).thenReturn(Mono.just(500));
+
+        String eTag = performAsync(get("/v2/employee/highestSalary"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("500"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        performAsync(get("/v2/employee/highestSalary").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    // ------------------------------------------------------
+    // DELETE /v2/employee/{id}
+    // ------------------------------------------------------
+    @Test
+    @DisplayName("v2 deleteEmployeeById - returns 200 with the deleted name")
+    void delete_Returns200() throws Exception {
+        when(service.delete("6ca4dc9b-c0c9-45e6-8498-79458fe9ecd0")).thenReturn(Mono.just("John"));
+
+        performAsync(delete("/v2/employee/{id}", "6ca4dc9b-c0c9-45e6-8498-79458fe9ecd0"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("John"));
+    }
+
+    @Test
+    @DisplayName("v2 deleteEmployeeById - returns 404 when nothing was deleted")
+    void delete_Returns404() throws Exception {
+        when(service.delete("6ca4dc9b-c0c9-45e6-8498-79458fe9ecd0")).thenReturn(Mono.empty());
+
+        performAsync(delete("/v2/employee/{id}", "6ca4dc9b-c0c9-45e6-8498-79458fe9ecd0"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("v2 deleteEmployeeById - returns 503 while the upstream circuit is open")
+    void delete_Returns503_WhenUpstreamUnavailable() throws Exception {
+        when(service.delete("6ca4dc9b-c0c9-45e6-8498-79458fe9ecd0"))
+                .thenReturn(Mono.error(new UpstreamUnavailableException("circuit open", null)));
+
+        performAsync(delete("/v2/employee/{id}", "6ca4dc9b-c0c9-45e6-8498-79458fe9ecd0"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    // ------------------------------------------------------
+    // POST /v2/employee/batch
+    // ------------------------------------------------------
+    @Test
+    @DisplayName("v2 createEmployees - streams one NDJSON line per item")
+    void batch_StreamsResults() throws Exception {
+        Employee e = new Employee();
+        e.setEmployeeName("John");
+        when(service.createAll(any()))
+                .thenReturn(Flux.just(
+                        BatchCreateResult.created(1, e), BatchCreateResult.throttled(0, "no budget")));
+
+        MvcResult result = mockMvc.perform(post("/v2/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content("[{\"name\":\"Jane\"},{\"name\":\"John\"}]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = mapper.readTree(lines[0]);
+        assertEquals(1, first.get("index").asInt());
+        assertEquals("CREATED", first.get("status").asText());
+        assertEquals("John", first.get("employee").get("employee_name").asText());
+        JsonNode second = mapper.readTree(lines[1]);
+        assertEquals("THROTTLED", second.get("status").asText());
+        assertEquals("no budget", second.get("error").asText());
+    }
+
+    @Test
+    @DisplayName("v2 createEmployees - returns 400 for an empty batch")
+    void batch_Returns400_WhenEmpty() throws Exception {
+        mockMvc.perform(post("/v2/employee/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).createAll(any());
+    }
+
+    private ResultActions performAsync(RequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.upstream.RequestCoalescer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class RequestCoalescerTest {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void execute_SameKeyInFlight_SharesOneCall() {
+        Sinks.One<String> upstream = Sinks.one();
+        List<String> results = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            coalescer.execute("GET /1", () -> call(upstream.asMono())).subscribe(results::add);
+        }
+        upstream.tryEmitValue("John");
+
+        assertEquals(1, calls.get());
+        assertEquals(200, results.size());
+        assertTrue(results.stream().allMatch("John"::equals));
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    @Test
+    void execute_DifferentKeys_CallSeparately() {
+        coalescer.execute("GET /1", () -> call(Mono.just("a"))).block();
+        coalescer.execute("GET /2", () -> call(Mono.just("b"))).block();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_AfterFlightCompletes_CallsAgain() {
+        assertEquals("a", coalescer.execute("GET /1", () -> call(Mono.just("a"))).block());
+        assertEquals("b", coalescer.execute("GET /1", () -> call(Mono.just("b"))).block());
+
+        assertEquals(2, calls.get());
+    }
+
+    private Mono<String> call(Mono<String> result) {
+        calls.incrementAndGet();
+        return result;
+    }
+}
@@ -0,0 +1,120 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.cache.SalaryIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+
+    private static final IntPredicate NONE_REMOVED = doc -> false;
+
+    // ------------------------------------------------------------
+    // Order
+    // ------------------------------------------------------------
+    @Test
+    void top_RanksNegativeSalariesBelowZero() {
+        int[] salaries = {100, -5, 0, Integer.MIN_VALUE + 1, -1, Integer.MAX_VALUE};
+        SalaryIndex index = SalaryIndex.build(salaries);
+
+        assertArrayEquals(new int[] {5, 0, 2, 4, 1, 3}, index.top(10, NONE_REMOVED));
+        assertEquals(Integer.MAX_VALUE, index.highest(NONE_REMOVED));
+        assertEquals(-1, index.highest(doc -> doc == 0 || doc == 2 || doc == 5));
+        assertEquals(Integer.MIN_VALUE + 1, index.highest(doc -> doc != 3));
+    }
+
+    @Test
+    void plus_RanksExtremeSalariesLikeBuild() {
+        SalaryIndex index = SalaryIndex.build(new int[] {10});
+        index = index.plus(1, Integer.MIN_VALUE + 1).plus(2, -10).plus(3, Integer.MAX_VALUE);
+
+        assertArrayEquals(new int[] {3, 0, 2, 1}, index.top(10, NONE_REMOVED));
+        assertEquals(Integer.MIN_VALUE + 1, index.highest(doc -> doc != 1));
+    }
+
+    @Test
+    void minValue_IsTheColumnsMissingSalary_AndIsNotRanked() {
+        SalaryIndex index = SalaryIndex.build(new int[] {Integer.MIN_VALUE, -7});
+
+        assertArrayEquals(new int[] {1}, index.top(10, NONE_REMOVED));
+        assertSame(index, index.plus(2, Integer.MIN_VALUE));
+        assertEquals(0, index.highest(doc -> doc == 1));
+    }
+
+    @Test
+    void plus_PastTheLog_MergesInSalaryOrder() {
+        int[] salaries = IntStream.range(0, 300)
+                .map(i -> i % 2 == 0 ? i * 7_000_000 : -i * 7_000_000)
+                .toArray();
+        SalaryIndex index = SalaryIndex.build(new int[0]);
+        for (int doc = 0; doc < salaries.length; doc++) {
+            index = index.plus(doc, salaries[doc]);
+        }
+
+        assertArrayEquals(ranked(salaries), index.top(salaries.length, NONE_REMOVED));
+    }
+
+    // ------------------------------------------------------------
+    // Views
+    // ------------------------------------------------------------
+    @Test
+    void plus_ConcurrentlyOnOlderViews_KeepsEachLineageApart() throws Exception {
+        int[] baseSalaries = {500, -100};
+        SalaryIndex base = SalaryIndex.build(baseSalaries);
+        int threads = 8;
+        // past the smallest log, so lineages both fork the log and merge it into a new base
+        int additions = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> lineages = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            lineages.add(executor.submit(() -> {
+                start.await();
+                int[] salaries = Arrays.copyOf(baseSalaries, baseSalaries.length + additions);
+                SalaryIndex index = base;
+                for (int i = 0; i < additions; i++) {
+                    int doc = baseSalaries.length + i;
+                    salaries[doc] = (thread * 1000 + i) * (i % 2 == 0 ? 1 : -1);
+                    SalaryIndex older = index;
+                    index = index.plus(doc, salaries[doc]);
+                    // the base and the view just superseded are no longer the newest; both get extended again
+                    assertArrayEquals(new int[] {doc, 0, 1}, base.plus(doc, Integer.MAX_VALUE).top(3, NONE_REMOVED));
+                    assertEquals(Integer.MAX_VALUE, older.plus(doc, Integer.MAX_VALUE).highest(NONE_REMOVED));
+                    assertArrayEquals(
+                            ranked(Arrays.copyOf(salaries, doc + 1)), index.top(doc + 1, NONE_REMOVED));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+
+        for (Future<?> lineage : lineages) {
+            lineage.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertArrayEquals(new int[] {0, 1}, base.top(10, NONE_REMOVED));
+    }
+
+    /** Document ids by salary, highest first and lowest id first among equal salaries */
+    private static int[] ranked(int[] salaries) {
+        return IntStream.range(0, salaries.length)
+                .boxed()
+                .sorted(Comparator.comparingInt((Integer doc) -> salaries[doc])
+                        .reversed()
+                        .thenComparingInt(doc -> doc))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,222 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.GovernorProperties;
+import com.reliaquest.api.exception.UpstreamThrottledException;
+import com.reliaquest.api.upstream.UpstreamGovernor;
+import com.reliaquest.api.upstream.UpstreamGovernor.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+class UpstreamGovernorTest {
+
+    private static final Duration LOCKOUT = Duration.ofSeconds(30);
+
+    private final MutableClock clock = new MutableClock();
+    private final VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+    private final GovernorProperties properties = new GovernorProperties();
+
+    private UpstreamGovernor governor;
+
+    @BeforeEach
+    void setup() {
+        properties.setInitialLimit(2);
+        properties.setInitialLockout(LOCKOUT);
+        governor = new UpstreamGovernor(properties, clock, timer, new SimpleMeterRegistry());
+    }
+
+    // ------------------------------------------------------------
+    // Budget within the window
+    // ------------------------------------------------------------
+    @Test
+    void execute_WithinLimit_RunsImmediately() {
+        assertEquals(1, governor.execute(Priority.READ, Mono.just(1)).block());
+        assertEquals(2, governor.execute(Priority.READ, Mono.just(2)).block());
+        assertEquals(0, governor.availablePermits());
+    }
+
+    @Test
+    void execute_BudgetExhausted_ReadGivesUpAfterMaxWait() {
+        properties.setReadMaxWait(Duration.ofMillis(50));
+        governor.execute(Priority.READ, Mono.just(1)).block();
+        governor.execute(Priority.READ, Mono.just(2)).block();
+
+        Mono<Integer> read = governor.execute(Priority.READ, Mono.just(3));
+
+        assertThrows(UpstreamThrottledException.class, read::block);
+    }
+
+    // ------------------------------------------------------------
+    // Queueing and priority
+    // ------------------------------------------------------------
+    @Test
+    void execute_AfterLockout_ServesWritesBeforeQueuedReads() {
+        governor.execute(Priority.READ, Mono.just(1)).block();
+        governor.execute(Priority.READ, Mono.just(2)).block();
+
+        List<String> order = new ArrayList<>();
+        governor.execute(Priority.READ, Mono.fromCallable(() -> order.add("read")))
+                .subscribe();
+        governor.execute(Priority.WRITE, Mono.fromCallable(() -> order.add("write")))
+                .subscribe();
+        assertTrue(order.isEmpty());
+
+        clock.advance(LOCKOUT);
+        timer.advanceTimeBy(LOCKOUT);
+
+        assertEquals(List.of("write", "read"), order);
+    }
+
+    // ------------------------------------------------------------
+    // Learning from 429s
+    // ------------------------------------------------------------
+    @Test
+    void execute_On429_LocksUntilProbeSucceedsAndMeasuresTheNextWindow() {
+        governor.execute(Priority.READ, Mono.just(1)).block();
+        Mono<Object> refused = governor.execute(Priority.READ, Mono.error(tooManyRequests()));
+        assertThrows(WebClientResponseException.TooManyRequests.class, refused::block);
+
+        assertEquals(0, governor.availablePermits());
+
+        clock.advance(LOCKOUT);
+        assertEquals(1, governor.availablePermits());
+
+        // the probe is the window's first request, so one of the two is left
+        governor.execute(Priority.READ, Mono.just(3)).block();
+        assertEquals(1, governor.availablePermits());
+
+        // the upstream counted from zero in this window, so its 429 sets the limit to one
+        Mono<Object> measured = governor.execute(Priority.READ, Mono.error(tooManyRequests()));
+        assertThrows(WebClientResponseException.TooManyRequests.class, measured::block);
+        clock.advance(LOCKOUT);
+        governor.execute(Priority.READ, Mono.just(4)).block();
+        assertEquals(0, governor.availablePermits());
+
+        // and it never grows back to two
+        clock.advance(LOCKOUT);
+        governor.execute(Priority.READ, Mono.just(5)).block();
+        assertEquals(0, governor.availablePermits());
+    }
+
+    @Test
+    void execute_On429WithRetryAfter_PausesForAsLongAsTold() {
+        governor.execute(Priority.READ, Mono.just(1)).block();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "5");
+        Mono<Object> refused = governor.execute(
+                Priority.READ,
+                Mono.error(WebClientResponseException.create(429, "Too Many Requests", headers, null, null)));
+        assertThrows(WebClientResponseException.TooManyRequests.class, refused::block);
+
+        clock.advance(Duration.ofSeconds(4));
+        assertEquals(0, governor.availablePermits());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(1, governor.availablePermits());
+    }
+
+    @Test
+    void execute_ProbeRefused_WaitsLongerBeforeNextProbe() {
+        governor.execute(Priority.READ, Mono.just(1)).block();
+        governor.execute(Priority.READ, Mono.just(2)).block();
+
+        clock.advance(LOCKOUT);
+        Mono<Object> probe = governor.execute(Priority.READ, Mono.error(tooManyRequests()));
+        assertThrows(WebClientResponseException.TooManyRequests.class, probe::block);
+
+        clock.advance(LOCKOUT.dividedBy(4));
+        assertEquals(0, governor.availablePermits());
+
+        clock.advance(LOCKOUT.dividedBy(4));
+        assertEquals(1, governor.availablePermits());
+    }
+
+    @Test
+    void execute_AgainstAFixedCap_StopsBeingThrottledOnceTheLimitConverges() {
+        int cap = 4;
+        properties.setReadMaxWait(Duration.ofDays(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        governor = new UpstreamGovernor(properties, clock, timer, registry);
+        FixedWindowUpstream upstream = new FixedWindowUpstream(cap, LOCKOUT);
+
+        int requests = 40 * cap;
+        AtomicInteger accepted = new AtomicInteger();
+        List<Instant> throttledAt = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            governor.execute(Priority.READ, upstream.call())
+                    .subscribe(ignored -> accepted.incrementAndGet(), ex -> throttledAt.add(clock.instant()));
+        }
+        Instant start = clock.instant();
+        for (int second = 0; second < 3600 && accepted.get() + throttledAt.size() < requests; second++) {
+            clock.advance(Duration.ofSeconds(1));
+            timer.advanceTimeBy(Duration.ofSeconds(1));
+        }
+
+        assertEquals(requests, accepted.get() + throttledAt.size());
+        assertEquals(cap, registry.get("employee.upstream.limit").gauge().value());
+        Instant converged = start.plus(LOCKOUT.multipliedBy(12));
+        assertTrue(
+                throttledAt.stream().allMatch(converged::isAfter),
+                "429s after the limit converged: " + throttledAt);
+    }
+
+    @Test
+    void isThrottled_RecognisesRetryExhaustion() {
+        Throwable exhausted = reactor.core.Exceptions.retryExhausted("exhausted", tooManyRequests());
+
+        assertTrue(UpstreamGovernor.isThrottled(exhausted));
+        assertTrue(UpstreamGovernor.isThrottled(new UpstreamThrottledException("budget")));
+        assertFalse(UpstreamGovernor.isThrottled(new IllegalStateException()));
+    }
+
+    private static WebClientResponseException tooManyRequests() {
+        return WebClientResponseException.create(429, "Too Many Requests", null, null, null);
+    }
+
+    /**
+     * The mock server's default policy: {@code cap} requests, then 429s until {@code period} after the last one. A
+     * window that is never used up never expires.
+     */
+    private final class FixedWindowUpstream {
+
+        private final int cap;
+        private final Duration period;
+        private int count;
+        private Instant last;
+
+        private FixedWindowUpstream(int cap, Duration period) {
+            this.cap = cap;
+            this.period = period;
+        }
+
+        Mono<Integer> call() {
+            return Mono.defer(() -> {
+                Instant now = clock.instant();
+                if (count >= cap) {
+                    Duration left = Duration.between(now, last.plus(period));
+                    if (!left.isNegative() && !left.isZero()) {
+                        HttpHeaders headers = new HttpHeaders();
+                        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf((left.toMillis() + 999) / 1000));
+                        return Mono.error(
+                                WebClientResponseException.create(429, "Too Many Requests", headers, null, null));
+                    }
+                    count = 0;
+                }
+                count++;
+                last = now;
+                return Mono.just(count);
+            });
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.ResilienceProperties;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.upstream.UpstreamGuard;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class UpstreamGuardTest {
+
+    private final ResilienceProperties properties = new ResilienceProperties();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private UpstreamGuard guard;
+
+    @BeforeEach
+    void setup() {
+        properties.setSlidingWindowSize(2);
+        properties.setMinimumNumberOfCalls(2);
+        properties.setMaxConcurrentCalls(1);
+        guard = new UpstreamGuard(properties, new SimpleMeterRegistry());
+    }
+
+    // ------------------------------------------------------------
+    // Circuit breaker
+    // ------------------------------------------------------------
+    @Test
+    void guard_FailingOperation_OpensAndFailsFast() {
+        Mono<String> failing = call(Mono.error(status(503)));
+        assertThrows(WebClientResponseException.class, () -> guard.guard("list", failing).block());
+        assertThrows(WebClientResponseException.class, () -> guard.guard("list", failing).block());
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.state("list"));
+        assertThrows(UpstreamUnavailableException.class, () -> guard.guard("list", failing).block());
+        assertEquals(2, calls.get());
+        // breakers are per operation
+        assertEquals("ok", guard.guard("get", Mono.just("ok")).block());
+    }
+
+    @Test
+    void guard_ClientErrors_DoNotOpen() {
+        Mono<String> notFound = call(Mono.error(status(404)));
+        for (int i = 0; i < 5; i++) {
+            assertThrows(WebClientResponseException.class, () -> guard.guard("get", notFound).block());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state("get"));
+        assertEquals(5, calls.get());
+    }
+
+    // ------------------------------------------------------------
+    // Bulkhead
+    // ------------------------------------------------------------
+    @Test
+    void guard_BulkheadFull_RejectsWithoutCalling() {
+        Sinks.One<String> upstream = Sinks.one();
+        guard.guard("create", call(upstream.asMono())).subscribe();
+
+        assertThrows(UpstreamUnavailableException.class, () -> guard.guard("create", call(Mono.just("x"))).block());
+        upstream.tryEmitValue("done");
+
+        assertEquals("y", guard.guard("create", call(Mono.just("y"))).block());
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state("create"));
+        assertEquals(2, calls.get());
+    }
+
+    private <T> Mono<T> call(Mono<T> result) {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return result;
+        });
+    }
+
+    private static WebClientResponseException status(int status) {
+        return WebClientResponseException.create(status, "status " + status, HttpHeaders.EMPTY, new byte[0], null);
+    }
+}
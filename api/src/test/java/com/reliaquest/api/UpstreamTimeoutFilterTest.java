@@ -0,0 +1,87 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.TransportProperties;
+import com.reliaquest.api.config.WebClientConfig;
+import com.reliaquest.api.upstream.UpstreamTimeoutFilter;
+import io.netty.handler.timeout.ReadTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+class UpstreamTimeoutFilterTest {
+
+    private final List<String> operations = new ArrayList<>();
+    private final TransportProperties recording = new TransportProperties() {
+        @Override
+        public Duration timeout(String operation) {
+            operations.add(operation);
+            return super.timeout(operation);
+        }
+    };
+
+    // ------------------------------------------------------------
+    // Operations
+    // ------------------------------------------------------------
+    @Test
+    void filter_TellsOperationsApartByMethodAndPath() {
+        UpstreamTimeoutFilter filter = new UpstreamTimeoutFilter(recording);
+        String base = recording.getBaseUrl();
+
+        exchange(filter, HttpMethod.GET, base);
+        exchange(filter, HttpMethod.GET, base + "/");
+        exchange(filter, HttpMethod.GET, base + "/" + UUID.randomUUID());
+        exchange(filter, HttpMethod.POST, base);
+        exchange(filter, HttpMethod.DELETE, base);
+        exchange(filter, HttpMethod.GET, base + "/changes?since=e.12");
+
+        assertEquals(List.of("list", "list", "get", "create", "delete", "changes"), operations);
+    }
+
+    // ------------------------------------------------------------
+    // Stalled upstream
+    // ------------------------------------------------------------
+    @Test
+    void employeeClient_StalledUpstream_FailsAfterTheOperationTimeout() {
+        DisposableServer upstream = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> Mono.never())
+                .bindNow();
+        ConnectionProvider connections = ConnectionProvider.create("stalled-upstream", 1);
+        try {
+            TransportProperties transport = new TransportProperties();
+            transport.setBaseUrl("http://localhost:" + upstream.port() + "/api/v1/employee");
+            transport.getTimeouts().put("list", Duration.ofMillis(200));
+            WebClient client = new WebClientConfig().employeeClient(WebClient.builder(), transport, connections);
+
+            long started = System.nanoTime();
+            WebClientRequestException failure = assertThrows(
+                    WebClientRequestException.class,
+                    () -> client.get().retrieve().bodyToMono(String.class).block(Duration.ofSeconds(10)));
+
+            assertInstanceOf(ReadTimeoutException.class, failure.getCause());
+            // the list timeout applied, not the 5s default
+            assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(transport.getResponseTimeout()) < 0);
+        } finally {
+            connections.dispose();
+            upstream.disposeNow();
+        }
+    }
+
+    private static void exchange(UpstreamTimeoutFilter filter, HttpMethod method, String url) {
+        ClientRequest request = ClientRequest.create(method, URI.create(url)).build();
+        filter.filter(request, forwarded -> Mono.empty()).block();
+    }
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeesResponse;
+import com.reliaquest.api.upstream.EmployeeStreamDecoder;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+/**
+ * Decoding the upstream's roster body into snake_case-mapped {@link Employee}s: Jackson databind of the whole
+ * {@link EmployeesResponse}, and the incremental {@link EmployeeStreamDecoder} the api actually uses, on the JSON
+ * envelope and on the newline-delimited stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeesResponseDecodingBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    private int size;
+
+    private byte[] body;
+
+    private byte[] ndjsonBody;
+
+    private EmployeeStreamDecoder decoder;
+
+    @Setup
+    public void setup() {
+        List<Employee> employees = Rosters.employees(size);
+        body = Rosters.responseBody(employees);
+        ndjsonBody = Rosters.ndjsonBody(employees);
+        decoder = new EmployeeStreamDecoder(Rosters.MAPPER);
+    }
+
+    @Benchmark
+    public EmployeesResponse databind() throws IOException {
+        return Rosters.MAPPER.readValue(body, EmployeesResponse.class);
+    }
+
+    @Benchmark
+    public List<Employee> streamDecoder() {
+        return decoder.decode(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<Employee> ndjsonStreamDecoder() {
+        return decoder.decode(
+                        Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(ndjsonBody)),
+                        MediaType.APPLICATION_NDJSON)
+                .collectList()
+                .block();
+    }
+}
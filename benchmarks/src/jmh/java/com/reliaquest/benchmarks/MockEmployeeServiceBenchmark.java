@@ -0,0 +1,77 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The mock server's {@link MockEmployeeService#findById} and {@link MockEmployeeService#delete} for employees picked
+ * at random. Each delete puts its employee back afterwards so the roster size stays constant; that re-insert is part
+ * of the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    private static final int TARGETS = 1 << 12;
+
+    @Param({"50", "1000", "100000", "1000000"})
+    private int size;
+
+    private MockEmployeeStore store;
+
+    private MockEmployeeService service;
+
+    private MockEmployee[] targets;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        List<MockEmployee> roster = Rosters.mockEmployees(size);
+        store = new MockEmployeeStore(roster);
+        service = new MockEmployeeService(new Faker(), store, new EmployeeChangeLog(TARGETS));
+        Random random = new Random(42);
+        targets = new MockEmployee[TARGETS];
+        for (int i = 0; i < TARGETS; i++) {
+            targets[i] = roster.get(random.nextInt(size));
+        }
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return service.findById(nextTarget().getId());
+    }
+
+    @Benchmark
+    public boolean delete() {
+        MockEmployee target = nextTarget();
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(target.getName());
+        boolean deleted = service.delete(input);
+        if (deleted) {
+            store.add(target);
+        }
+        return deleted;
+    }
+
+    private MockEmployee nextTarget() {
+        return targets[next++ & (TARGETS - 1)];
+    }
+}
@@ -0,0 +1,150 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.BatchProperties;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.config.GovernorProperties;
+import com.reliaquest.api.config.ResilienceProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeesResponse;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import com.reliaquest.api.upstream.EmployeeStreamDecoder;
+import com.reliaquest.api.upstream.UpstreamGovernor;
+import com.reliaquest.api.upstream.UpstreamGuard;
+import com.reliaquest.server.model.MockEmployee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/** Deterministic rosters of any size, and api services wired to serve them without a network. */
+final class Rosters {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String[] FIRST_NAMES = {
+        "Ada", "Alan", "Barbara", "Brian", "Claude", "Dennis", "Donald", "Edsger", "Frances", "Grace",
+        "Guido", "Hedy", "James", "John", "Katherine", "Ken", "Linus", "Margaret", "Niklaus", "Radia"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Allen", "Backus", "Cerf", "Dijkstra", "Hamilton", "Hopper", "Johnson", "Kernighan", "Knuth", "Lamarr",
+        "Liskov", "Lovelace", "McCarthy", "Perlman", "Ritchie", "Shannon", "Stroustrup", "Thompson", "Torvalds", "Wirth"
+    };
+
+    private Rosters() {}
+
+    /** Api-side employees with realistic, repeating names and salaries between 30k and 500k. */
+    static List<Employee> employees(int size) {
+        Random random = new Random(size);
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Employee employee = new Employee();
+            employee.setId(new UUID(random.nextLong(), random.nextLong()).toString());
+            employee.setEmployeeName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            employee.setEmployeeSalary(30_000 + random.nextInt(470_000));
+            employee.setEmployeeAge(16 + random.nextInt(55));
+            employee.setEmployeeTitle("Engineer");
+            employee.setEmployeeEmail("employee" + i + "@company.com");
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    /** Server-side employees; names are unique so deleting by name always removes the intended one. */
+    static List<MockEmployee> mockEmployees(int size) {
+        Random random = new Random(size);
+        List<MockEmployee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .name(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                            + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i)
+                    .salary(30_000 + random.nextInt(470_000))
+                    .age(16 + random.nextInt(55))
+                    .title("Engineer")
+                    .email("employee" + i + "@company.com")
+                    .build());
+        }
+        return employees;
+    }
+
+    /** The upstream's GET /api/v1/employee body for {@code employees}. */
+    static byte[] responseBody(List<Employee> employees) {
+        EmployeesResponse response = new EmployeesResponse();
+        response.setData(employees);
+        response.setStatus("Successfully processed request.");
+        try {
+            return MAPPER.writeValueAsBytes(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /** The upstream's GET /api/v1/employee body for {@code employees} as newline-delimited JSON. */
+    static byte[] ndjsonBody(List<Employee> employees) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(employees.size() * 160);
+        try {
+            for (Employee employee : employees) {
+                MAPPER.writeValue(body, employee);
+                body.write('\n');
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return body.toByteArray();
+    }
+
+    /**
+     * The production {@link EmployeeService} stack over an in-memory upstream that always answers with
+     * {@code employees}. The roster snapshot is loaded once before returning and never expires, so benchmarks measure
+     * serving from it rather than the load.
+     */
+    static EmployeeService employeeService(List<Employee> employees) {
+        byte[] body = responseBody(employees);
+        WebClient client = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                        .build()))
+                .build();
+
+        EmployeeCacheProperties cacheProperties = new EmployeeCacheProperties();
+        cacheProperties.setRefreshAfter(Duration.ofDays(1));
+        cacheProperties.setExpireAfter(Duration.ofDays(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UpstreamGovernor governor =
+                new UpstreamGovernor(new GovernorProperties(), Clock.systemUTC(), Schedulers.parallel(), registry);
+
+        EmployeeService service = new EmployeeService(new ReactiveEmployeeService(
+                client,
+                cacheProperties,
+                governor,
+                new UpstreamGuard(new ResilienceProperties(), registry),
+                new EmployeeStreamDecoder(MAPPER),
+                MAPPER,
+                new BatchProperties(),
+                registry));
+        if (service.getAll().size() != employees.size()) {
+            throw new IllegalStateException("Roster snapshot did not load");
+        }
+        return service;
+    }
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.controller.EmployeeController;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+
+/** The highest-salary and top-ten endpoints of {@link EmployeeController}, called directly against a cached roster. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SalaryStatisticsBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    private int size;
+
+    private EmployeeController controller;
+
+    @Setup
+    public void setup() {
+        controller = new EmployeeController(Rosters.employeeService(Rosters.employees(size)));
+    }
+
+    @Benchmark
+    public ResponseEntity<Integer> highestSalary() {
+        return controller.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<String>> topTenHighestEarningEmployeeNames() {
+        return controller.getTopTenHighestEarningEmployeeNames();
+    }
+}
@@ -0,0 +1,42 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@link EmployeeService#searchByName} against a cached roster. {@code query} covers a fragment too short for the
+ * trigram index ("an"), a common surname and a fragment no one matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchByNameBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"an", "hopper", "zzz"})
+    private String query;
+
+    private EmployeeService service;
+
+    @Setup
+    public void setup() {
+        service = Rosters.employeeService(Rosters.employees(size));
+    }
+
+    @Benchmark
+    public List<Employee> searchByName() {
+        return service.searchByName(query);
+    }
+}
@@ -0,0 +1,61 @@
+package com.reliaquest.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids for the operations that need one: the roster seen at start-up for reads, and the employees this run created
+ * for deletes, so a run only deletes what it added. With nothing to pick, a random id stands in (and gets a 404).
+ */
+final class KnownEmployees {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<String> ids = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<String> created = new ConcurrentLinkedQueue<>();
+
+    void addRoster(byte[] body) throws IOException {
+        JsonNode roster = MAPPER.readTree(body);
+        if (roster.isArray()) {
+            roster.forEach(employee -> ids.add(employee.path("id").asText()));
+        }
+    }
+
+    void addCreated(byte[] body) {
+        try {
+            String id = MAPPER.readTree(body).path("id").asText(null);
+            if (id != null) {
+                created.add(id);
+                ids.add(id);
+            }
+        } catch (IOException ex) {
+            // not an employee; nothing to remember
+        }
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    String anyId() {
+        if (ids.isEmpty()) {
+            return UUID.randomUUID().toString();
+        }
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    String takeCreatedId() {
+        String id = created.poll();
+        if (id == null) {
+            return UUID.randomUUID().toString();
+        }
+        ids.remove(id);
+        return id;
+    }
+}
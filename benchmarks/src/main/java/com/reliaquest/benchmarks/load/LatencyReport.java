@@ -0,0 +1,127 @@
+package com.reliaquest.benchmarks.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms (microseconds) per {@link Operation}, plus response status counts. Recording is thread-safe.
+ * <p>
+ * {@code expectedIntervalMicros} applies HdrHistogram's coordinated-omission correction to closed-loop runs: a
+ * response slower than the interval at which requests should have been issued also records the requests that stall
+ * kept from being sent. Open-loop runs pass 0, as they already measure from each request's scheduled send time.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> requests = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final long expectedIntervalMicros;
+
+    LatencyReport(long expectedIntervalMicros) {
+        this.expectedIntervalMicros = expectedIntervalMicros;
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            requests.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /** {@code status} is the HTTP status, or 0 if the request failed without a response. */
+    void record(Operation operation, long latencyNanos, int status) {
+        long micros = Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (expectedIntervalMicros > 0) {
+            histograms.get(operation).recordValueWithExpectedInterval(micros, expectedIntervalMicros);
+        } else {
+            histograms.get(operation).recordValue(micros);
+        }
+        requests.get(operation).increment();
+        statuses.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+        if (status < 200 || status >= 300) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /** Mean recorded latency across all operations, in microseconds. */
+    long meanMicros() {
+        Histogram all = total();
+        return all.getTotalCount() == 0 ? 0 : (long) all.getMean();
+    }
+
+    /** Prints the summary table and writes it, plus one percentile distribution per operation, to {@code dir}. */
+    void write(String header, double elapsedSeconds, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        try (PrintStream file = new PrintStream(Files.newOutputStream(dir.resolve("summary.txt")))) {
+            summary(header, elapsedSeconds, file);
+        }
+        summary(header, elapsedSeconds, System.out);
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            if (entry.getValue().getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream file =
+                    new PrintStream(Files.newOutputStream(dir.resolve(entry.getKey().key() + ".hgrm")))) {
+                // values are recorded in microseconds; scale the distribution to milliseconds
+                entry.getValue().outputPercentileDistribution(file, 1000.0);
+            }
+        }
+        System.out.println("Reports written to " + dir.toAbsolutePath());
+    }
+
+    private void summary(String header, double elapsedSeconds, PrintStream out) {
+        out.println(header);
+        out.printf("%-14s %9s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        histograms.forEach((operation, histogram) -> row(
+                out,
+                operation.key(),
+                histogram,
+                requests.get(operation).sum(),
+                errors.get(operation).sum(),
+                elapsedSeconds));
+        row(out, "all", total(), sum(requests), sum(errors), elapsedSeconds);
+
+        Map<Integer, Long> sorted = new TreeMap<>();
+        statuses.forEach((status, count) -> sorted.put(status, count.sum()));
+        out.println("status codes (0 = no response): " + sorted);
+    }
+
+    /** {@code count} is the requests actually sent, which corrected histograms overstate. */
+    private static void row(
+            PrintStream out, String name, Histogram histogram, long count, long errors, double elapsedSeconds) {
+        if (count == 0) {
+            return;
+        }
+        out.printf("%-14s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                count,
+                errors,
+                count / elapsedSeconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static long sum(Map<Operation, LongAdder> counters) {
+        return counters.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private Histogram total() {
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        histograms.values().forEach(all::add);
+        return all;
+    }
+}
@@ -0,0 +1,259 @@
+package com.reliaquest.benchmarks.load;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a weighted mix of the api's seven employee operations and reports latency percentiles and throughput.
+ * <p>
+ * With {@code --rate} the load is open-loop: requests are scheduled at fixed intervals regardless of how fast
+ * responses come back, and latency is measured from each request's scheduled send time, so a stalled api shows up
+ * as queueing delay instead of fewer samples (coordinated omission). With {@code --concurrency} the load is
+ * closed-loop: that many clients each wait for a response before sending the next request, and HdrHistogram
+ * corrects the recorded latencies using the mean latency observed during warm-up as the expected interval.
+ * <p>
+ * Given {@code --server-jar} and {@code --api-jar} it starts both applications first and stops them afterwards;
+ * without them it runs against whatever is listening already. Options, all {@code --name=value}:
+ * <pre>
+ * --rate=N               requests per second (open loop), or
+ * --concurrency=N        concurrent clients (closed loop); default 16
+ * --duration=60s         measured run length
+ * --warmup=15s           unmeasured run before it
+ * --mix=getAll=20,search=20,getById=20,highestSalary=15,topTen=15,create=5,delete=5
+ * --base-uri=http://localhost:8111/employee
+ * --report-dir=build/reports/load
+ * </pre>
+ */
+public final class LoadDriver {
+
+    private static final String DEFAULT_MIX =
+            "getAll=20,search=20,getById=20,highestSalary=15,topTen=15,create=5,delete=5";
+
+    private final Map<String, String> options;
+    private final URI baseUri;
+    private final Operation[] mix;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final KnownEmployees employees = new KnownEmployees();
+
+    private LoadDriver(Map<String, String> options) {
+        this.options = options;
+        this.baseUri = URI.create(options.getOrDefault("base-uri", "http://localhost:8111/employee"));
+        this.mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadDriver(options).run();
+    }
+
+    private void run() throws Exception {
+        Path reportDir = Path.of(options.getOrDefault("report-dir", "build/reports/load"))
+                .resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        List<Process> apps = new ArrayList<>();
+        try {
+            if (options.containsKey("server-jar")) {
+                apps.add(start("server", options.get("server-jar"), reportDir));
+                awaitPort(baseUri.getHost(), 8112);
+            }
+            if (options.containsKey("api-jar")) {
+                apps.add(start("api", options.get("api-jar"), reportDir));
+                awaitPort(baseUri.getHost(), baseUri.getPort());
+            }
+            seed();
+
+            Duration warmup = duration(options.getOrDefault("warmup", "15s"));
+            Duration measured = duration(options.getOrDefault("duration", "60s"));
+            String mode = options.containsKey("rate")
+                    ? "rate=" + options.get("rate") + "/s (open loop)"
+                    : "concurrency=" + options.getOrDefault("concurrency", "16") + " (closed loop)";
+
+            System.out.println("Warming up for " + warmup + ", " + mode);
+            LatencyReport warm = drive(warmup, 0);
+            long expectedIntervalMicros = options.containsKey("rate") ? 0 : warm.meanMicros();
+
+            System.out.println("Measuring for " + measured);
+            long started = System.nanoTime();
+            LatencyReport report = drive(measured, expectedIntervalMicros);
+            double elapsed = (System.nanoTime() - started) / 1e9;
+            report.write(
+                    "%s against %s for %s, mix %s".formatted(
+                            mode, baseUri, measured, options.getOrDefault("mix", DEFAULT_MIX)),
+                    elapsed,
+                    reportDir);
+        } finally {
+            apps.forEach(Process::destroy);
+            for (Process app : apps) {
+                app.waitFor(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private LatencyReport drive(Duration duration, long expectedIntervalMicros) throws InterruptedException {
+        LatencyReport report = new LatencyReport(expectedIntervalMicros);
+        long deadline = System.nanoTime() + duration.toNanos();
+        if (options.containsKey("rate")) {
+            openLoop(Double.parseDouble(options.get("rate")), deadline, report);
+        } else {
+            closedLoop(Integer.parseInt(options.getOrDefault("concurrency", "16")), deadline, report);
+        }
+        return report;
+    }
+
+    private void openLoop(double rate, long deadline, LatencyReport report) throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        AtomicLong outstanding = new AtomicLong();
+        long start = System.nanoTime();
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * interval;
+            if (scheduled - deadline >= 0) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = nextOperation();
+            outstanding.incrementAndGet();
+            client.sendAsync(operation.request(baseUri, employees), HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, ex) -> {
+                        complete(operation, scheduled, response, report);
+                        outstanding.decrementAndGet();
+                    });
+        }
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (outstanding.get() > 0 && System.nanoTime() - drainDeadline < 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void closedLoop(int concurrency, long deadline, LatencyReport report) throws InterruptedException {
+        List<Thread> clients = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread thread = new Thread(
+                    () -> {
+                        while (System.nanoTime() - deadline < 0) {
+                            Operation operation = nextOperation();
+                            long sent = System.nanoTime();
+                            HttpResponse<byte[]> response = null;
+                            try {
+                                response = client.send(
+                                        operation.request(baseUri, employees),
+                                        HttpResponse.BodyHandlers.ofByteArray());
+                            } catch (IOException ex) {
+                                // recorded as a request without a response
+                            } catch (InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                                return;
+                            }
+                            complete(operation, sent, response, report);
+                        }
+                    },
+                    "load-client-" + i);
+            thread.start();
+            clients.add(thread);
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+    }
+
+    private void complete(Operation operation, long sent, HttpResponse<byte[]> response, LatencyReport report) {
+        report.record(operation, System.nanoTime() - sent, response == null ? 0 : response.statusCode());
+        if (operation == Operation.CREATE && response != null && response.statusCode() == 200) {
+            employees.addCreated(response.body());
+        }
+    }
+
+    private Operation nextOperation() {
+        return mix[ThreadLocalRandom.current().nextInt(mix.length)];
+    }
+
+    /** Learns the current roster so reads by id hit existing employees; the api may answer empty while throttled. */
+    private void seed() throws IOException, InterruptedException {
+        for (int attempt = 0; attempt < 10 && employees.size() == 0; attempt++) {
+            HttpResponse<byte[]> response = client.send(
+                    HttpRequest.newBuilder(baseUri).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 200) {
+                employees.addRoster(response.body());
+            }
+            if (employees.size() == 0) {
+                Thread.sleep(1_000);
+            }
+        }
+        System.out.println("Seeded " + employees.size() + " employee ids");
+    }
+
+    private static Process start(String name, String jar, Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        System.out.println("Starting " + name + " from " + jar);
+        return new ProcessBuilder(java, "-jar", jar)
+                .redirectErrorStream(true)
+                .redirectOutput(reportDir.resolve(name + ".log").toFile())
+                .start();
+    }
+
+    private static void awaitPort(String host, int port) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        while (System.nanoTime() - deadline < 0) {
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(host, port), 1_000);
+                return;
+            } catch (IOException ex) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException(host + ":" + port + " did not start listening within 120s");
+    }
+
+    /** Expands {@code key=weight,...} into a lookup table with one slot per unit of weight. */
+    private static Operation[] parseMix(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            weights.put(Operation.fromKey(pair[0]), Integer.parseInt(pair[1]));
+        }
+        List<Operation> table = new ArrayList<>();
+        weights.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(operation);
+            }
+        });
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix has no weight: " + spec);
+        }
+        return table.toArray(new Operation[0]);
+    }
+
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.benchmarks.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** The seven {@code IEmployeeController} operations, as requests against the api's employee base URI. */
+enum Operation {
+    GET_ALL("getAll"),
+    SEARCH("search"),
+    GET_BY_ID("getById"),
+    HIGHEST_SALARY("highestSalary"),
+    TOP_TEN("topTen"),
+    CREATE("create"),
+    DELETE("delete");
+
+    private static final String[] FRAGMENTS = {"an", "son", "mar", "li", "ey", "zzz"};
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "', expected one of getAll, search, "
+                + "getById, highestSalary, topTen, create, delete");
+    }
+
+    HttpRequest request(URI base, KnownEmployees employees) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(TIMEOUT);
+        return switch (this) {
+            case GET_ALL -> builder.uri(base).GET().build();
+            case SEARCH -> builder.uri(resolve(base, "/search/" + FRAGMENTS[random.nextInt(FRAGMENTS.length)]))
+                    .GET()
+                    .build();
+            case GET_BY_ID -> builder.uri(resolve(base, "/" + employees.anyId())).GET().build();
+            case HIGHEST_SALARY -> builder.uri(resolve(base, "/highestSalary")).GET().build();
+            case TOP_TEN -> builder.uri(resolve(base, "/topTenHighestEarningEmployeeNames")).GET().build();
+            case CREATE -> builder.uri(base)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody(random)))
+                    .build();
+            case DELETE -> builder.uri(resolve(base, "/" + employees.takeCreatedId()))
+                    .DELETE()
+                    .build();
+        };
+    }
+
+    private static String createBody(ThreadLocalRandom random) {
+        return """
+                {"name":"Load Test %s","salary":%d,"age":%d,"title":"Load Tester","email":"load@company.com"}"""
+                .formatted(UUID.randomUUID(), 30_000 + random.nextInt(470_000), 16 + random.nextInt(55));
+    }
+
+    private static URI resolve(URI base, String path) {
+        return URI.create(base + path);
+    }
+}
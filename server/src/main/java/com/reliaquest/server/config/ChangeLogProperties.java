@@ -0,0 +1,12 @@
+package com.reliaquest.server.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "mock.changes")
+public class ChangeLogProperties {
+
+    /** Latest creates and deletes kept for clients catching up; older cursors get a reset. */
+    private int max = 10000;
+}
@@ -0,0 +1,32 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.web.RequestLimiter;
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "mock.rate-limit")
+public class RateLimitProperties {
+
+    private RequestLimiter.Policy policy = RequestLimiter.Policy.FIXED_WINDOW;
+
+    /** Requests allowed per {@code period}; picked at random per run unless set. */
+    private int limit = RandomGenerator.getDefault().nextInt(5, 10);
+
+    /**
+     * Lockout after a spent fixed window, time to refill an empty token bucket, or length of the sliding log; picked at
+     * random per run unless set.
+     */
+    private Duration period = Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+
+    /** Limit each client, told apart by remote address, on its own rather than all of them together. */
+    private boolean perClient = true;
+
+    /**
+     * Request header naming the client, used instead of the remote address when present. Unset by default, since a
+     * client could otherwise get a fresh limit by sending a new value; only set it behind a proxy that sets it.
+     */
+    private String clientHeader;
+}
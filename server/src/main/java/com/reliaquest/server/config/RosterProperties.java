@@ -0,0 +1,26 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.service.MockRosterGenerator;
+import java.nio.file.Path;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "mock.employees")
+public class RosterProperties {
+
+    /** Employees generated at startup. */
+    private int max = 20;
+
+    private MockRosterGenerator.Mode generator = MockRosterGenerator.Mode.FAKER;
+
+    /** Seed of the generated roster, so a run can be reproduced; picked at random and logged unless set. */
+    private Long seed;
+
+    /**
+     * Binary roster loaded at startup instead of generating one, if it was generated with the same max, generator and
+     * seed (any seed, when none is set); otherwise the roster is generated and written there, so the next run starts
+     * from it.
+     */
+    private Path file;
+}
@@ -1,19 +1,21 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeStore;
+import com.reliaquest.server.service.MockRosterFile;
+import com.reliaquest.server.service.MockRosterGenerator;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -21,39 +23,89 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@EnableConfigurationProperties({RateLimitProperties.class, RosterProperties.class, ChangeLogProperties.class})
+@RequiredArgsConstructor
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private final RateLimitProperties rateLimitProperties;
+
+    private final RosterProperties rosterProperties;
+
+    private final ChangeLogProperties changeLogProperties;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
+    @Bean
+    public EmployeeChangeLog employeeChangeLog() {
+        return new EmployeeChangeLog(changeLogProperties.getMax());
+    }
+
     /*
-     * This list is modifiable by design for CRUD operations.
+     * The store is modifiable by design for CRUD operations.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MockEmployeeStore mockEmployeeStore() throws IOException {
+        MockRosterFile file =
+                rosterProperties.getFile() == null ? null : new MockRosterFile(rosterProperties.getFile());
+        long started = System.nanoTime();
+        Optional<MockRosterFile.Roster> stored = file == null ? Optional.empty() : file.read(this::isConfigured);
+        if (stored.isPresent()) {
+            log.info(
+                    "Loaded {} mock employees from {} in {} ms ({}, seed {})",
+                    stored.get().employees().size(),
+                    file.getPath(),
+                    millisSince(started),
+                    stored.get().header().generator(),
+                    stored.get().header().seed());
+            return new MockEmployeeStore(stored.get().employees());
+        }
+
+        long seed = rosterProperties.getSeed() != null
+                ? rosterProperties.getSeed()
+                : RandomGenerator.getDefault().nextLong();
+        List<MockEmployee> employees = new MockRosterGenerator(Locale.getDefault(), seed)
+                .generate(rosterProperties.getGenerator(), rosterProperties.getMax());
+        log.info(
+                "Generated {} mock employees in {} ms ({}, seed {})",
+                employees.size(),
+                millisSince(started),
+                rosterProperties.getGenerator(),
+                seed);
+        if (file != null) {
+            String locale = Locale.getDefault().toLanguageTag();
+            file.write(
+                    new MockRosterFile.Header(rosterProperties.getGenerator(), locale, seed, employees.size()),
+                    employees);
+            log.info("Wrote mock roster to {}", file.getPath());
+        }
+        return new MockEmployeeStore(employees);
+    }
+
+    /** Whether a stored roster is what the configuration would generate; without a seed, any seed will do. */
+    private boolean isConfigured(MockRosterFile.Header header) {
+        return header.generator() == rosterProperties.getGenerator()
+                && header.count() == rosterProperties.getMax()
+                && header.locale().equals(Locale.getDefault().toLanguageTag())
+                && (rosterProperties.getSeed() == null || header.seed() == rosterProperties.getSeed());
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        log.info(
+                "Rate limiting to {} requests per {} ({}, {})",
+                rateLimitProperties.getLimit(),
+                rateLimitProperties.getPeriod(),
+                rateLimitProperties.getPolicy(),
+                rateLimitProperties.isPerClient() ? "per client" : "all clients together");
+        registry.addInterceptor(new RandomRequestLimitInterceptor(rateLimitProperties));
+    }
+
+    private static long millisSince(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - nanos);
     }
 }
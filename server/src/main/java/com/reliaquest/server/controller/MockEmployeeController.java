@@ -1,15 +1,22 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChanges;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,6 +24,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -24,11 +32,57 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    /** Change log cursor the roster in a {@code GET} response is at; pass it to {@code /changes} to catch up. */
+    public static final String CURSOR_HEADER = "X-Roster-Cursor";
+
+    /** Employees per flush of {@link #streamEmployees}. */
+    private static final int STREAM_CHUNK = 1000;
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final ObjectMapper objectMapper;
+
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees() {
+        final var cursor = mockEmployeeService.getCursor();
+        return ResponseEntity.ok()
+                .header(CURSOR_HEADER, cursor)
+                .body(Response.handledWith(mockEmployeeService.getMockEmployees()));
+    }
+
+    /**
+     * The roster as newline-delimited JSON, one employee per line, for clients that ask for
+     * {@code application/x-ndjson}. Employees are written straight from the store's listing and flushed every
+     * {@value #STREAM_CHUNK}, so each flush goes out as an HTTP chunk (a separately flushed gzip block when the
+     * response is compressed). The client sees the first employees before the last are serialized, and the server
+     * holds one chunk at a time, whatever the roster size.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamEmployees(HttpServletResponse response) throws IOException {
+        final var cursor = mockEmployeeService.getCursor();
+        final var employees = mockEmployeeService.getMockEmployees();
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(CURSOR_HEADER, cursor);
+
+        // the mapper flushes after every value by default, which would send each employee as its own chunk
+        final var writer =
+                objectMapper.writerFor(MockEmployee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            json.setRootValueSeparator(null);
+            int written = 0;
+            for (MockEmployee employee : employees) {
+                writer.writeValue(json, employee);
+                json.writeRaw('\n');
+                if (++written % STREAM_CHUNK == 0) {
+                    json.flush();
+                }
+            }
+        }
+    }
+
+    @GetMapping("/changes")
+    public Response<EmployeeChanges> getChanges(@RequestParam("since") String cursor) {
+        return Response.handledWith(mockEmployeeService.changesSince(cursor));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,22 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/** One roster change at {@code version}; deletions carry only the id. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeChange(long version, Type type, UUID id, MockEmployee employee) {
+
+    public static EmployeeChange created(long version, MockEmployee employee) {
+        return new EmployeeChange(version, Type.CREATED, employee.getId(), employee);
+    }
+
+    public static EmployeeChange deleted(long version, MockEmployee employee) {
+        return new EmployeeChange(version, Type.DELETED, employee.getId(), null);
+    }
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
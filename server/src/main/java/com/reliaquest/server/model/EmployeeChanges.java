@@ -0,0 +1,15 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Roster changes after a client's cursor, up to {@code cursor}. With {@code reset} set the changes are not available
+ * (the cursor is from an earlier server run, or older than the retained log) and the client has to reload the full
+ * roster instead.
+ */
+public record EmployeeChanges(String cursor, boolean reset, List<EmployeeChange> changes) {
+
+    public static EmployeeChanges reset(String cursor) {
+        return new EmployeeChanges(cursor, true, List.of());
+    }
+}
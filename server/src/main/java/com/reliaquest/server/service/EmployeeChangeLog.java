@@ -0,0 +1,76 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded, monotonically versioned log of the creates and deletes made through {@link MockEmployeeService}, so that
+ * clients holding a copy of the roster can catch up on what changed instead of downloading all of it again.
+ * <p>
+ * A cursor is {@code <epoch>.<version>}: the version counts changes since this server started, and the random epoch
+ * tells a cursor from an earlier run apart. Only the latest {@code mock.changes.max} changes are kept, in a ring
+ * indexed by version, so answering a cursor costs the number of changes after it, not the size of the log.
+ */
+public class EmployeeChangeLog {
+
+    private final String epoch = Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36);
+    private final EmployeeChange[] ring;
+
+    private long version;
+
+    public EmployeeChangeLog(int capacity) {
+        this.ring = new EmployeeChange[capacity];
+    }
+
+    public synchronized void created(MockEmployee employee) {
+        append(EmployeeChange.created(version + 1, employee));
+    }
+
+    public synchronized void deleted(MockEmployee employee) {
+        append(EmployeeChange.deleted(version + 1, employee));
+    }
+
+    /** Cursor of the latest change. */
+    public synchronized String cursor() {
+        return epoch + "." + version;
+    }
+
+    /** Changes after {@code cursor}, oldest first, or a reset if they are no longer (or were never) in the log. */
+    public synchronized EmployeeChanges since(String cursor) {
+        long since = versionOf(cursor);
+        if (since < 0 || since > version || version - since > ring.length) {
+            return EmployeeChanges.reset(cursor());
+        }
+        List<EmployeeChange> changes = new ArrayList<>((int) (version - since));
+        for (long next = since + 1; next <= version; next++) {
+            changes.add(ring[slot(next)]);
+        }
+        return new EmployeeChanges(cursor(), false, changes);
+    }
+
+    private void append(EmployeeChange change) {
+        version = change.version();
+        ring[slot(version)] = change;
+    }
+
+    private int slot(long version) {
+        return (int) (version % ring.length);
+    }
+
+    /** Version of a cursor from this run, or -1. */
+    private long versionOf(String cursor) {
+        int dot = cursor == null ? -1 : cursor.lastIndexOf('.');
+        if (dot < 0 || !epoch.equals(cursor.substring(0, dot))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(cursor.substring(dot + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe roster of the mock server, indexed for the lookups its endpoints make.
+ * <ul>
+ *     <li>by id: a {@link ConcurrentHashMap}, so {@link #findById} is O(1) and never blocks</li>
+ *     <li>by case-folded name: the employees with that name in insertion order, so {@link #removeByName} takes the
+ *     same employee a scan of the roster would have, in O(1)</li>
+ *     <li>in insertion order: an append-only array in which removals are stamped with a generation rather than cleared,
+ *     compacted once they outnumber the employees. {@link #getEmployees()} takes the array, its length and the current
+ *     generation under the lock, in O(1), and copies the roster as of then outside it; later writes only append past
+ *     that length or stamp newer generations. The copy is reused until the next write.</li>
+ * </ul>
+ * Writes are serialized on the store; employees without an id are not stored.
+ */
+public class MockEmployeeStore {
+
+    private static final int LIVE = 0;
+
+    private final Map<UUID, MockEmployee> byId;
+
+    /** Guarded by {@code this}. */
+    private final Map<UUID, Integer> positions;
+
+    /** Guarded by {@code this}. */
+    private final Map<String, ArrayDeque<MockEmployee>> byName;
+
+    /** Guarded by {@code this}, as are the fields below; readers only see them through a {@link Listing}. */
+    private MockEmployee[] entries;
+
+    /** Generation at which each entry was removed, {@link #LIVE} while it is not. */
+    private int[] removedAt;
+
+    private int length;
+    private int generation;
+    private int live;
+    private long writes;
+
+    private volatile List<MockEmployee> listing;
+
+    public MockEmployeeStore(Collection<MockEmployee> employees) {
+        // sized up front so a roster of millions is not rehashed over and over while it is loaded
+        int capacity = (int) Math.min(Integer.MAX_VALUE, employees.size() * 4L / 3 + 1);
+        byId = new ConcurrentHashMap<>(employees.size());
+        positions = new HashMap<>(capacity);
+        byName = new HashMap<>(capacity);
+        entries = new MockEmployee[Math.max(16, employees.size())];
+        removedAt = new int[entries.length];
+        employees.forEach(this::add);
+    }
+
+    public Optional<MockEmployee> findById(UUID id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /** Immutable copy of the roster in insertion order. */
+    public List<MockEmployee> getEmployees() {
+        List<MockEmployee> current = listing;
+        if (current != null) {
+            return current;
+        }
+        Listing taken;
+        synchronized (this) {
+            if (listing != null) {
+                return listing;
+            }
+            taken = new Listing(entries, removedAt, length, generation, live, writes);
+        }
+        List<MockEmployee> copy = taken.copy();
+        synchronized (this) {
+            if (writes == taken.writes()) {
+                listing = copy;
+            }
+        }
+        return copy;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /** Adds {@code employee}, replacing any employee with the same id. */
+    public synchronized void add(MockEmployee employee) {
+        if (employee.getId() == null) {
+            return;
+        }
+        Integer replaced = positions.get(employee.getId());
+        if (replaced != null) {
+            unindexName(entries[replaced]);
+            remove(replaced);
+        }
+        if (length == entries.length) {
+            entries = Arrays.copyOf(entries, length * 2);
+            removedAt = Arrays.copyOf(removedAt, length * 2);
+        }
+        positions.put(employee.getId(), length);
+        entries[length++] = employee;
+        live++;
+        byId.put(employee.getId(), employee);
+        String name = fold(employee.getName());
+        if (name != null) {
+            byName.computeIfAbsent(name, key -> new ArrayDeque<>(1)).addLast(employee);
+        }
+        written();
+    }
+
+    /** Removes the earliest added employee whose name equals {@code name} ignoring case. */
+    public synchronized Optional<MockEmployee> removeByName(String name) {
+        String folded = fold(name);
+        ArrayDeque<MockEmployee> named = folded == null ? null : byName.get(folded);
+        if (named == null) {
+            return Optional.empty();
+        }
+        MockEmployee removed = named.pollFirst();
+        if (named.isEmpty()) {
+            byName.remove(folded);
+        }
+        remove(positions.remove(removed.getId()));
+        byId.remove(removed.getId());
+        written();
+        return Optional.of(removed);
+    }
+
+    /** Caller holds the lock. */
+    private void remove(int position) {
+        removedAt[position] = ++generation;
+        live--;
+    }
+
+    /** Caller holds the lock. */
+    private void written() {
+        writes++;
+        listing = null;
+        if (length > 16 && length - live > live) {
+            compact();
+        }
+    }
+
+    /**
+     * Moves the live entries into new arrays, so listings taken from the old ones stay as they are. Caller holds the
+     * lock.
+     */
+    private void compact() {
+        MockEmployee[] compacted = new MockEmployee[Math.max(16, live * 2)];
+        int count = 0;
+        for (int position = 0; position < length; position++) {
+            if (removedAt[position] == LIVE) {
+                compacted[count] = entries[position];
+                positions.put(compacted[count].getId(), count);
+                count++;
+            }
+        }
+        entries = compacted;
+        removedAt = new int[compacted.length];
+        length = count;
+        generation = 0;
+    }
+
+    /** Caller holds the lock. */
+    private void unindexName(MockEmployee employee) {
+        String name = fold(employee.getName());
+        ArrayDeque<MockEmployee> named = name == null ? null : byName.get(name);
+        if (named != null) {
+            named.removeIf(other -> Objects.equals(other.getId(), employee.getId()));
+            if (named.isEmpty()) {
+                byName.remove(name);
+            }
+        }
+    }
+
+    /** Same key for names {@link String#equalsIgnoreCase} considers equal. */
+    private static String fold(String name) {
+        if (name == null) {
+            return null;
+        }
+        if (isAscii(name)) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+        StringBuilder folded = new StringBuilder(name.length());
+        name.codePoints().forEach(c -> folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(c))));
+        return folded.toString();
+    }
+
+    private static boolean isAscii(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The insertion-order array as of one write; copying it needs no lock. */
+    private record Listing(
+            MockEmployee[] entries, int[] removedAt, int length, int generation, int live, long writes) {
+
+        List<MockEmployee> copy() {
+            MockEmployee[] copy = new MockEmployee[live];
+            int count = 0;
+            for (int position = 0; position < length; position++) {
+                int removed = removedAt[position];
+                if (removed == LIVE || removed > generation) {
+                    copy[count++] = entries[position];
+                }
+            }
+            return Collections.unmodifiableList(Arrays.asList(copy));
+        }
+    }
+}
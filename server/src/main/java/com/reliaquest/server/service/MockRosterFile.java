@@ -0,0 +1,194 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pre-generated mock roster on local disk, so a large roster is generated once rather than on every start. A header
+ * records what the roster was generated from, so a changed configuration is noticed rather than served stale.
+ * <p>
+ * Layout, big-endian: magic, format, the header (generator mode and locale as strings, seed, employee count), then
+ * each employee's id (two longs behind a presence byte) and
+ * five other fields (strings as length-prefixed UTF-8 with -1 for null, integers behind a presence byte), and finally
+ * a CRC32 of everything before it. Writes stream to a temporary file that is atomically moved into place; reads map
+ * the file, so it has to stay under 2 GB.
+ */
+@Slf4j
+public final class MockRosterFile {
+
+    private static final int MAGIC = 0x4D4F434B; // "MOCK"
+    private static final int FORMAT = 2;
+
+    /** What a roster was generated from; the same header always gives the same roster. */
+    public record Header(MockRosterGenerator.Mode generator, String locale, long seed, int count) {}
+
+    public record Roster(Header header, List<MockEmployee> employees) {}
+
+    private final Path path;
+
+    public MockRosterFile(Path path) {
+        this.path = path.toAbsolutePath();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /** Replaces the stored roster with {@code employees}, generated as {@code header} describes. */
+    public void write(Header header, Collection<MockEmployee> employees) throws IOException {
+        if (header.count() != employees.size()) {
+            throw new IllegalArgumentException(
+                    "header counts " + header.count() + " employees, not " + employees.size());
+        }
+        Path directory = path.getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16), new CRC32());
+            try (DataOutputStream out = new DataOutputStream(checked)) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                writeString(out, header.generator().name());
+                writeString(out, header.locale());
+                out.writeLong(header.seed());
+                out.writeInt(header.count());
+                for (MockEmployee employee : employees) {
+                    writeUuid(out, employee.getId());
+                    writeString(out, employee.getName());
+                    writeInteger(out, employee.getSalary());
+                    writeInteger(out, employee.getAge());
+                    writeString(out, employee.getTitle());
+                    writeString(out, employee.getEmail());
+                }
+                out.flush();
+                out.writeLong(checked.getChecksum().getValue());
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The stored roster, or empty if there is none, it cannot be read back, or its header is not {@code wanted}; the
+     * employees are only decoded once the header is accepted.
+     */
+    public Optional<Roster> read(Predicate<Header> wanted) {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Header header = decodeHeader(buffer);
+            if (!wanted.test(header)) {
+                log.info("Ignoring mock roster {} generated as {}", path, header);
+                return Optional.empty();
+            }
+            return Optional.of(new Roster(header, decode(buffer, header.count())));
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring unreadable mock roster {}: {}", path, ex.toString());
+            return Optional.empty();
+        }
+    }
+
+    /** Verifies the checksum and reads the header, leaving {@code buffer} at the first employee. */
+    private static Header decodeHeader(ByteBuffer buffer) throws IOException {
+        int end = buffer.limit() - Long.BYTES;
+        if (end < 0) {
+            throw new IOException("truncated file");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(end));
+        if (crc.getValue() != buffer.getLong(end)) {
+            throw new IOException("checksum mismatch");
+        }
+        buffer.limit(end);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+            throw new IOException("not a mock roster in format " + FORMAT);
+        }
+        MockRosterGenerator.Mode generator = MockRosterGenerator.Mode.valueOf(readString(buffer));
+        String locale = readString(buffer);
+        long seed = buffer.getLong();
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IOException("implausible employee count " + count);
+        }
+        return new Header(generator, locale, seed, count);
+    }
+
+    private static List<MockEmployee> decode(ByteBuffer buffer, int count) {
+        List<MockEmployee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(new MockEmployee(
+                    readUuid(buffer),
+                    readString(buffer),
+                    readInteger(buffer),
+                    readInteger(buffer),
+                    readString(buffer),
+                    readString(buffer)));
+        }
+        return employees;
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getMostSignificantBits());
+            out.writeLong(value.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUuid(ByteBuffer buffer) {
+        return buffer.get() != 0 ? new UUID(buffer.getLong(), buffer.getLong()) : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(ByteBuffer buffer) {
+        return buffer.get() != 0 ? buffer.getInt() : null;
+    }
+}
@@ -0,0 +1,129 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Deterministic mock rosters: the same mode, size, seed and locale always give the same employees, ids included.
+ * <ul>
+ *     <li>{@link Mode#FAKER} asks Datafaker for every field of every employee, one after the other. Most realistic,
+ *     but it takes tens of microseconds per employee.</li>
+ *     <li>{@link Mode#BULK} draws pools of first names, last names and job titles from Datafaker once and combines
+ *     them at random, in fixed-size chunks spread across cores. Each chunk has its own random generator, split off
+ *     the seed in chunk order, so the roster does not depend on how many cores did the work. Emails carry the
+ *     employee's position, which keeps them unique; millions of employees take a few seconds.</li>
+ * </ul>
+ */
+public final class MockRosterGenerator {
+
+    public enum Mode {
+        FAKER,
+        BULK
+    }
+
+    private static final int CHUNK = 1 << 14;
+    private static final int NAME_POOL = 1 << 10;
+    private static final int TITLE_POOL = 1 << 8;
+
+    private final Locale locale;
+    private final long seed;
+
+    public MockRosterGenerator(Locale locale, long seed) {
+        this.locale = locale;
+        this.seed = seed;
+    }
+
+    public List<MockEmployee> generate(Mode mode, int count) {
+        return mode == Mode.BULK ? bulk(count) : faker(count);
+    }
+
+    private List<MockEmployee> faker(int count) {
+        Random random = new Random(seed);
+        Faker faker = new Faker(locale, random);
+        List<MockEmployee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(randomUuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()))
+                    .build());
+        }
+        return employees;
+    }
+
+    private List<MockEmployee> bulk(int count) {
+        Faker faker = new Faker(locale, new Random(seed));
+        String[] firstNames = new String[NAME_POOL];
+        String[] lastNames = new String[NAME_POOL];
+        for (int i = 0; i < NAME_POOL; i++) {
+            firstNames[i] = faker.name().firstName();
+            lastNames[i] = faker.name().lastName();
+        }
+        String[] titles = new String[TITLE_POOL];
+        for (int i = 0; i < TITLE_POOL; i++) {
+            titles[i] = faker.job().title();
+        }
+        String[] firstHandles = handles(firstNames);
+        String[] lastHandles = handles(lastNames);
+        // the template split once, rather than formatted per employee
+        int handle = ServerConfiguration.EMAIL_TEMPLATE.indexOf("%s");
+        String emailPrefix = ServerConfiguration.EMAIL_TEMPLATE.substring(0, handle);
+        String emailSuffix = ServerConfiguration.EMAIL_TEMPLATE.substring(handle + 2);
+
+        int chunks = (count + CHUNK - 1) / CHUNK;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            randoms[chunk] = root.split();
+        }
+
+        MockEmployee[] employees = new MockEmployee[count];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            SplittableRandom random = randoms[chunk];
+            int end = Math.min(count, (chunk + 1) * CHUNK);
+            for (int i = chunk * CHUNK; i < end; i++) {
+                int first = random.nextInt(NAME_POOL);
+                int last = random.nextInt(NAME_POOL);
+                employees[i] = MockEmployee.builder()
+                        .id(randomUuid(random))
+                        .name(firstNames[first] + " " + lastNames[last])
+                        .salary(random.nextInt(30000, 500000))
+                        .age(random.nextInt(16, 70))
+                        .title(titles[random.nextInt(TITLE_POOL)])
+                        .email(emailPrefix + firstHandles[first] + "." + lastHandles[last] + "." + i + emailSuffix)
+                        .build();
+            }
+        });
+        return Arrays.asList(employees);
+    }
+
+    /** Lower case letters and digits of each name, for email addresses. */
+    private String[] handles(String[] names) {
+        String[] handles = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            handles[i] = names[i].toLowerCase(locale).replaceAll("[^\\p{L}\\p{N}]", "");
+        }
+        return handles;
+    }
+
+    /** Version 4 UUID drawn from {@code random} rather than {@link java.security.SecureRandom}, so it is seeded. */
+    private static UUID randomUuid(RandomGenerator random) {
+        long mostSignificant = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link RequestLimiter.Policy#FIXED_WINDOW}: a client gets {@code limit} requests, and once they are spent it is
+ * refused until {@code period} after the last one it was granted; then a new window opens. A window that is not spent
+ * never expires, however long the client waits, as with the interceptor this replaced; so only clients that spent
+ * their window and sat out the lockout are dropped as idle. The state is the window's request count (low 16 bits) and
+ * the time of its last request in milliseconds (high 48 bits), so a decision is one compare-and-set.
+ */
+final class FixedWindowLimiter extends KeyedLimiter<AtomicLong> {
+
+    private static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long NANOS_PER_MILLI = 1_000_000;
+    private static final long RETIRED_STATE = -1;
+
+    private final int limit;
+    private final long periodMillis;
+
+    FixedWindowLimiter(int limit, Duration period, LongSupplier clock) {
+        super(period, clock);
+        if (limit > COUNT_MASK) {
+            throw new IllegalArgumentException("limit must be at most " + COUNT_MASK + ": " + limit);
+        }
+        this.limit = limit;
+        this.periodMillis = period.toMillis();
+    }
+
+    @Override
+    AtomicLong newState() {
+        return new AtomicLong();
+    }
+
+    @Override
+    long acquire(AtomicLong state, long now) {
+        long nowMillis = now / NANOS_PER_MILLI;
+        while (true) {
+            long current = state.get();
+            if (current == RETIRED_STATE) {
+                return RETIRED;
+            }
+            long count = current & COUNT_MASK;
+            if (count >= limit) {
+                long reopens = (current >>> COUNT_BITS) + periodMillis;
+                if (nowMillis < reopens) {
+                    return RequestLimiter.refused((reopens - nowMillis) * NANOS_PER_MILLI);
+                }
+                count = 0;
+            }
+            if (state.compareAndSet(current, nowMillis << COUNT_BITS | (count + 1))) {
+                return RequestLimiter.granted((int) (limit - count - 1));
+            }
+        }
+    }
+
+    /** Idle once a spent window has reopened, when the next request would start from zero like a new client's. */
+    @Override
+    boolean retire(AtomicLong state, long now) {
+        long current = state.get();
+        return current != RETIRED_STATE
+                && (current & COUNT_MASK) >= limit
+                && now / NANOS_PER_MILLI >= (current >>> COUNT_BITS) + periodMillis
+                && state.compareAndSet(current, RETIRED_STATE);
+    }
+}
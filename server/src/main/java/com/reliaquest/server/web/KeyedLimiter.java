@@ -0,0 +1,76 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key state for the {@link RequestLimiter} policies, created on a key's first request. Times are nanoseconds
+ * since the limiter was created, read from the given clock, so they are never negative and fit the policies' packed
+ * state.
+ * <p>
+ * Once per {@code period} a request sweeps out the states that are idle, meaning a fresh state would decide the same
+ * way, so clients that come and go do not pile up. A policy retires an idle state atomically; a request that then
+ * finds it retired starts over with a fresh one, so no permit is handed out twice.
+ */
+abstract class KeyedLimiter<S> implements RequestLimiter {
+
+    /** What a policy's acquire returns for a retired state; no real refusal asks to wait this long. */
+    static final long RETIRED = Long.MIN_VALUE;
+
+    private final Map<String, S> states = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+    private final long origin;
+    private final long sweepInterval;
+    private final AtomicLong nextSweep;
+
+    KeyedLimiter(Duration period, LongSupplier clock) {
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+        this.sweepInterval = Math.max(1, period.toNanos());
+        this.nextSweep = new AtomicLong(sweepInterval);
+    }
+
+    @Override
+    public final long acquire(String key) {
+        long now = clock.getAsLong() - origin;
+        sweepIfDue(now);
+        while (true) {
+            S state = states.get(key);
+            if (state == null) {
+                state = states.computeIfAbsent(key, ignored -> newState());
+            }
+            long decision = acquire(state, now);
+            if (decision != RETIRED) {
+                return decision;
+            }
+            states.remove(key, state);
+        }
+    }
+
+    @Override
+    public final int clients() {
+        return states.size();
+    }
+
+    abstract S newState();
+
+    abstract long acquire(S state, long now);
+
+    /** Retires {@code state} if it is idle at {@code now}; a retired state answers every acquire with RETIRED. */
+    abstract boolean retire(S state, long now);
+
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now < due || !nextSweep.compareAndSet(due, now + sweepInterval)) {
+            return;
+        }
+        states.forEach((key, state) -> {
+            if (retire(state, now)) {
+                states.remove(key, state);
+            }
+        });
+    }
+}
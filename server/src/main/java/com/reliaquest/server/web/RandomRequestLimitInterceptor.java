@@ -1,48 +1,53 @@
 package com.reliaquest.server.web;
 
+import com.reliaquest.server.config.RateLimitProperties;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.random.RandomGenerator;
-import lombok.Getter;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+/**
+ * Rate limits the mock server like the upstream it stands in for, with the limit and period picked at random per run
+ * unless configured. Every response carries {@code X-RateLimit-Remaining}; a refused request gets
+ * {@code 429 Too Many Requests} with {@code Retry-After} in whole seconds, so clients can pace themselves.
+ */
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
-    private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
-    private static final Duration REQUEST_BACKOFF_DURATION =
-            Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
 
-    private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
+    private static final String ALL_CLIENTS = "";
+
+    private final RequestLimiter limiter;
+    private final RateLimitProperties properties;
+
+    public RandomRequestLimitInterceptor(RateLimitProperties properties) {
+        this.limiter = RequestLimiter.create(properties.getPolicy(), properties.getLimit(), properties.getPeriod());
+        this.properties = properties;
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isBefore(requestLimit.get().getLastRequested())) {
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                return false;
-            }
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isAfter(requestLimit.get().getLastRequested())) {
-                requestLimit.set(RequestLimit.init());
-            }
-        } else {
-            requestLimit.getAndUpdate(
-                    currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
+        long decision = limiter.acquire(clientKey(request));
+        response.setHeader(REMAINING_HEADER, Integer.toString(RequestLimiter.remaining(decision)));
+        if (RequestLimiter.isGranted(decision)) {
+            return true;
         }
 
-        return true;
+        long retryAfterNanos = RequestLimiter.retryAfterNanos(decision);
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        return false;
     }
 
-    private record RequestLimit(@Getter int count, @Getter Instant lastRequested) {
-        public static RequestLimit init() {
-            return new RequestLimit(0, Instant.now());
+    /** The remote address, or the configured client header where a proxy in front sets it. */
+    private String clientKey(HttpServletRequest request) {
+        if (!properties.isPerClient()) {
+            return ALL_CLIENTS;
         }
+        String client = properties.getClientHeader() == null ? null : request.getHeader(properties.getClientHeader());
+        return client != null ? client : request.getRemoteAddr();
     }
 }
@@ -0,0 +1,65 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether a client, identified by a key, may make another request.
+ * <p>
+ * Decisions are made per request, so they are packed into a {@code long} rather than an object: a granted request
+ * returns the permits its client has left ({@code >= 0}), a refused one {@code -(nanos until a retry can succeed) - 1}.
+ * Read them with {@link #isGranted}, {@link #remaining} and {@link #retryAfterNanos}.
+ */
+public interface RequestLimiter {
+
+    enum Policy {
+        /** {@code limit} requests, then nothing for {@code period} after the last one; the upstream's own behaviour. */
+        FIXED_WINDOW,
+        /** Bursts of up to {@code limit}, refilled evenly over {@code period}. */
+        TOKEN_BUCKET,
+        /** At most {@code limit} requests in any {@code period}. */
+        SLIDING_LOG
+    }
+
+    /** Takes a permit for {@code key} if one is available. */
+    long acquire(String key);
+
+    /** Keys with state held; idle ones are dropped. */
+    int clients();
+
+    static RequestLimiter create(Policy policy, int limit, Duration period) {
+        return create(policy, limit, period, System::nanoTime);
+    }
+
+    /** A limiter reading the time, in nanoseconds, from {@code clock}. */
+    static RequestLimiter create(Policy policy, int limit, Duration period, LongSupplier clock) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        return switch (policy) {
+            case FIXED_WINDOW -> new FixedWindowLimiter(limit, period, clock);
+            case TOKEN_BUCKET -> new TokenBucketLimiter(limit, period, clock);
+            case SLIDING_LOG -> new SlidingLogLimiter(limit, period, clock);
+        };
+    }
+
+    static long granted(int remaining) {
+        return remaining;
+    }
+
+    static long refused(long retryAfterNanos) {
+        return -Math.max(0, retryAfterNanos) - 1;
+    }
+
+    static boolean isGranted(long decision) {
+        return decision >= 0;
+    }
+
+    static int remaining(long decision) {
+        return isGranted(decision) ? (int) decision : 0;
+    }
+
+    static long retryAfterNanos(long decision) {
+        return isGranted(decision) ? 0 : -decision - 1;
+    }
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link RequestLimiter.Policy#SLIDING_LOG}: the times of a client's last {@code limit} granted requests, in a ring;
+ * a request is granted if the oldest of them is at least {@code period} ago. A log of several times does not fit a
+ * single compare-and-set, so each client's ring is updated under its own monitor; clients never contend with each
+ * other.
+ */
+final class SlidingLogLimiter extends KeyedLimiter<SlidingLogLimiter.Log> {
+
+    private static final long EMPTY = -1;
+
+    private final int limit;
+    private final long period;
+
+    SlidingLogLimiter(int limit, Duration period, LongSupplier clock) {
+        super(period, clock);
+        this.limit = limit;
+        this.period = period.toNanos();
+    }
+
+    @Override
+    Log newState() {
+        return new Log(limit);
+    }
+
+    @Override
+    long acquire(Log log, long now) {
+        synchronized (log) {
+            if (log.retired) {
+                return RETIRED;
+            }
+            long oldest = log.times[log.head];
+            if (oldest != EMPTY && now - oldest < period) {
+                return RequestLimiter.refused(oldest + period - now);
+            }
+            log.times[log.head] = now;
+            log.head = (log.head + 1) % limit;
+
+            // the ring runs oldest to newest from the head; count the entries that have left the window
+            int remaining = 0;
+            for (int i = 0; i < limit - 1; i++) {
+                long time = log.times[(log.head + i) % limit];
+                if (time != EMPTY && now - time < period) {
+                    break;
+                }
+                remaining++;
+            }
+            return RequestLimiter.granted(remaining);
+        }
+    }
+
+    /** Idle once the newest request has left the window. */
+    @Override
+    boolean retire(Log log, long now) {
+        synchronized (log) {
+            long newest = log.times[(log.head + limit - 1) % limit];
+            if (!log.retired && (newest == EMPTY || now - newest >= period)) {
+                log.retired = true;
+            }
+            return log.retired;
+        }
+    }
+
+    static final class Log {
+
+        private final long[] times;
+        private int head;
+        private boolean retired;
+
+        private Log(int limit) {
+            this.times = new long[limit];
+            Arrays.fill(times, EMPTY);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link RequestLimiter.Policy#TOKEN_BUCKET} as the generic cell rate algorithm: a bucket of {@code limit} tokens
+ * refilled one every {@code period / limit}. Instead of a token count and a refill time the state is a single
+ * "theoretical arrival time", the time at which the bucket would be full again; a request is granted while that is
+ * less than a full bucket's worth ahead of now, and pushes it one interval further. One compare-and-set per decision.
+ */
+final class TokenBucketLimiter extends KeyedLimiter<AtomicLong> {
+
+    private static final long RETIRED_STATE = -1;
+
+    private final long interval;
+    private final long tolerance;
+
+    TokenBucketLimiter(int limit, Duration period, LongSupplier clock) {
+        super(period, clock);
+        this.interval = Math.max(1, period.toNanos() / limit);
+        this.tolerance = interval * (limit - 1);
+    }
+
+    @Override
+    AtomicLong newState() {
+        return new AtomicLong();
+    }
+
+    @Override
+    long acquire(AtomicLong state, long now) {
+        while (true) {
+            long current = state.get();
+            if (current == RETIRED_STATE) {
+                return RETIRED;
+            }
+            long arrival = Math.max(current, now);
+            if (arrival - now > tolerance) {
+                return RequestLimiter.refused(arrival - now - tolerance);
+            }
+            long next = arrival + interval;
+            if (state.compareAndSet(current, next)) {
+                return RequestLimiter.granted((int) ((tolerance + interval - (next - now)) / interval));
+            }
+        }
+    }
+
+    /** Idle once the bucket is full again. */
+    @Override
+    boolean retire(AtomicLong state, long now) {
+        long current = state.get();
+        return current != RETIRED_STATE && current <= now && state.compareAndSet(current, RETIRED_STATE);
+    }
+}
@@ -0,0 +1,94 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EmployeeChangeLogTest {
+
+    private final EmployeeChangeLog log = new EmployeeChangeLog(3);
+    private final String epoch = epochOf(log.cursor());
+
+    @Test
+    void since_ReturnsChangesAfterCursor_OldestFirst() {
+        MockEmployee alice = employee("Alice");
+        String start = log.cursor();
+        log.created(alice);
+        log.deleted(alice);
+
+        EmployeeChanges changes = log.since(start);
+
+        assertFalse(changes.reset());
+        assertEquals(epoch + ".2", changes.cursor());
+        assertEquals(List.of(EmployeeChange.created(1, alice), EmployeeChange.deleted(2, alice)), changes.changes());
+        assertEquals(List.of(), log.since(changes.cursor()).changes());
+        assertFalse(log.since(changes.cursor()).reset());
+    }
+
+    @Test
+    void since_AfterRingWrapsAround_ServesTheRetainedChangesInOrder() {
+        for (int i = 1; i <= 5; i++) {
+            log.created(employee("Employee " + i));
+        }
+
+        EmployeeChanges retained = log.since(epoch + ".2");
+
+        assertFalse(retained.reset());
+        assertEquals(List.of(3L, 4L, 5L), versions(retained));
+        assertEquals("Employee 3", retained.changes().get(0).employee().getName());
+        assertEquals(List.of(5L), versions(log.since(epoch + ".4")));
+    }
+
+    @Test
+    void since_CursorOlderThanTheRing_Resets() {
+        for (int i = 1; i <= 5; i++) {
+            log.created(employee("Employee " + i));
+        }
+
+        assertReset(log.since(epoch + ".1"));
+        assertReset(log.since(epoch + ".0"));
+    }
+
+    @Test
+    void since_CursorFromAnotherEpoch_Resets() {
+        log.created(employee("Alice"));
+
+        assertReset(log.since("other" + epoch + ".0"));
+        assertReset(log.since(new EmployeeChangeLog(3).cursor()));
+    }
+
+    @Test
+    void since_MalformedOrFutureCursor_Resets() {
+        log.created(employee("Alice"));
+
+        assertReset(log.since(null));
+        assertReset(log.since("no-dot"));
+        assertReset(log.since(epoch + ".x"));
+        assertReset(log.since(epoch + ".-1"));
+        assertReset(log.since(epoch + ".2"));
+    }
+
+    private void assertReset(EmployeeChanges changes) {
+        assertTrue(changes.reset());
+        assertEquals(log.cursor(), changes.cursor());
+        assertEquals(List.of(), changes.changes());
+    }
+
+    private static List<Long> versions(EmployeeChanges changes) {
+        return changes.changes().stream().map(EmployeeChange::version).toList();
+    }
+
+    private static String epochOf(String cursor) {
+        return cursor.substring(0, cursor.lastIndexOf('.'));
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder().id(UUID.randomUUID()).name(name).build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.controller.MockEmployeeController;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class MockEmployeeControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EmployeeChangeLog changeLog = new EmployeeChangeLog(100);
+
+    @Test
+    void streamEmployees_WritesOneEmployeePerLine_WithTheCursor() throws Exception {
+        List<MockEmployee> employees = employees(3);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller(employees)).build();
+
+        String body = mvc.perform(get("/api/v1/employee").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(MockEmployeeController.CURSOR_HEADER, changeLog.cursor()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        StringBuilder expected = new StringBuilder();
+        for (MockEmployee employee : employees) {
+            expected.append(objectMapper.writeValueAsString(employee)).append('\n');
+        }
+        assertEquals(expected.toString(), body);
+    }
+
+    @Test
+    void streamEmployees_FlushesPerChunk_NotPerEmployee() throws Exception {
+        List<MockEmployee> employees = employees(2_500);
+        FlushCountingResponse response = new FlushCountingResponse();
+
+        controller(employees).streamEmployees(response);
+
+        assertEquals(2_500, response.body.toString().split("\n").length);
+        // two full chunks, then whatever closing the stream flushes
+        assertTrue(response.flushes <= 4, "flushed " + response.flushes + " times");
+    }
+
+    private MockEmployeeController controller(List<MockEmployee> employees) {
+        MockEmployeeStore store = new MockEmployeeStore(employees);
+        MockEmployeeService service = new MockEmployeeService(new Faker(Locale.US), store, changeLog);
+        return new MockEmployeeController(service, objectMapper);
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        List<MockEmployee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name("Employee " + i)
+                    .salary(1000 + i)
+                    .age(30)
+                    .title("Engineer")
+                    .email("employee" + i + "@company.com")
+                    .build());
+        }
+        return employees;
+    }
+
+    private static final class FlushCountingResponse extends MockHttpServletResponse {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private int flushes;
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) {
+                    body.write(bytes, offset, length);
+                }
+
+                @Override
+                public void flush() {
+                    flushes++;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {}
+            };
+        }
+    }
+}
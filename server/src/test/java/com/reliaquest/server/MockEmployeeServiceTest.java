@@ -0,0 +1,87 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeServiceTest {
+
+    @Test
+    void concurrentCreatesAndDeletes_AreLoggedInTheStoresOrder() throws Exception {
+        MockEmployeeStore store = new MockEmployeeStore(List.of());
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(100_000);
+        MockEmployeeService service = new MockEmployeeService(new Faker(Locale.US), store, changeLog);
+        String start = service.getCursor();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            boolean creates = t % 2 == 0;
+            workers.add(executor.submit(() -> {
+                go.await();
+                for (int i = 0; i < 2_000; i++) {
+                    // every worker uses the same name, so deletes race the creates of the employees they take
+                    if (creates) {
+                        service.create(input("Shared"));
+                    } else {
+                        service.delete(deleteInput("Shared"));
+                    }
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        EmployeeChanges changes = service.changesSince(start);
+        assertFalse(changes.reset());
+        Map<UUID, MockEmployee> replayed = new LinkedHashMap<>();
+        for (EmployeeChange change : changes.changes()) {
+            if (change.type() == EmployeeChange.Type.CREATED) {
+                assertNull(replayed.put(change.id(), change.employee()), "created twice: " + change);
+            } else {
+                assertNotNull(replayed.remove(change.id()), "deleted before it was created: " + change);
+            }
+        }
+        assertEquals(store.getEmployees(), new ArrayList<>(replayed.values()));
+    }
+
+    private static CreateMockEmployeeInput input(String name) {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(1000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+
+    private static DeleteMockEmployeeInput deleteInput(String name) {
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+}
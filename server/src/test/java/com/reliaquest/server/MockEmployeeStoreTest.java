@@ -0,0 +1,138 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    @Test
+    void removeByName_RemovesTheEarliestAddedMatch_IgnoringCase() {
+        MockEmployee first = employee("Alice");
+        MockEmployee bob = employee("Bob");
+        MockEmployee second = employee("ALICE");
+        MockEmployeeStore store = new MockEmployeeStore(List.of(first, bob, second));
+
+        assertEquals(Optional.of(first), store.removeByName("alice"));
+        assertEquals(Optional.of(second), store.removeByName("Alice"));
+        assertEquals(Optional.empty(), store.removeByName("alice"));
+        assertEquals(List.of(bob), store.getEmployees());
+        assertEquals(Optional.empty(), store.findById(first.getId()));
+    }
+
+    @Test
+    void add_SameId_ReplacesAndUnindexesTheOldName() {
+        MockEmployee alice = employee("Alice");
+        MockEmployee bob = employee("Bob");
+        MockEmployeeStore store = new MockEmployeeStore(List.of(alice, bob));
+        MockEmployee renamed = alice.toBuilder().name("Carol").build();
+
+        store.add(renamed);
+
+        assertEquals(2, store.size());
+        assertEquals(List.of(bob, renamed), store.getEmployees());
+        assertEquals(Optional.of(renamed), store.findById(alice.getId()));
+        assertEquals(Optional.empty(), store.removeByName("Alice"));
+        assertEquals(Optional.of(renamed), store.removeByName("carol"));
+        assertEquals(List.of(bob), store.getEmployees());
+    }
+
+    @Test
+    void getEmployees_IsASnapshot_UnaffectedByLaterWrites() {
+        MockEmployee alice = employee("Alice");
+        MockEmployeeStore store = new MockEmployeeStore(List.of(alice));
+        List<MockEmployee> before = store.getEmployees();
+
+        store.add(employee("Bob"));
+        store.removeByName("Alice");
+
+        assertEquals(List.of(alice), before);
+        assertSame(store.getEmployees(), store.getEmployees());
+        assertThrows(UnsupportedOperationException.class, () -> before.add(alice));
+    }
+
+    @Test
+    void removals_CompactTheRoster_KeepingInsertionOrder() {
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            employees.add(employee("Employee " + i));
+        }
+        MockEmployeeStore store = new MockEmployeeStore(employees);
+        List<MockEmployee> before = store.getEmployees();
+
+        for (int i = 0; i < 100; i += 3) {
+            store.removeByName("Employee " + i);
+        }
+        for (int i = 1; i < 100; i += 3) {
+            store.removeByName("Employee " + i);
+        }
+        MockEmployee late = employee("Late");
+        store.add(late);
+
+        List<MockEmployee> expected = new ArrayList<>();
+        for (int i = 2; i < 100; i += 3) {
+            expected.add(employees.get(i));
+        }
+        expected.add(late);
+        assertEquals(expected, store.getEmployees());
+        assertEquals(employees, before);
+        assertEquals(Optional.of(employees.get(2)), store.removeByName("employee 2"));
+    }
+
+    @Test
+    void concurrentCreatesAndDeletes_LeaveAConsistentRoster() throws Exception {
+        MockEmployeeStore store = new MockEmployeeStore(List.of());
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<MockEmployee>>> kept = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String name = "Worker " + t;
+            kept.add(executor.submit(() -> {
+                start.await();
+                List<MockEmployee> mine = new ArrayList<>();
+                for (int i = 0; i < perThread; i++) {
+                    MockEmployee employee = employee(name);
+                    store.add(employee);
+                    mine.add(employee);
+                    if (i % 2 == 1) {
+                        // only this thread uses this name, so the earliest one left is the first of mine
+                        assertEquals(Optional.of(mine.remove(0)), store.removeByName(name));
+                    }
+                    assertFalse(store.getEmployees().isEmpty());
+                }
+                return mine;
+            }));
+        }
+        start.countDown();
+
+        Set<MockEmployee> expected = new HashSet<>();
+        for (Future<List<MockEmployee>> future : kept) {
+            expected.addAll(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        List<MockEmployee> roster = store.getEmployees();
+        assertEquals(threads * perThread / 2, roster.size());
+        assertEquals(expected, new HashSet<>(roster));
+        assertEquals(roster.size(), store.size());
+        roster.forEach(employee -> assertEquals(Optional.of(employee), store.findById(employee.getId())));
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder().id(UUID.randomUUID()).name(name).build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.config.ChangeLogProperties;
+import com.reliaquest.server.config.RateLimitProperties;
+import com.reliaquest.server.config.RosterProperties;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import com.reliaquest.server.service.MockRosterFile;
+import com.reliaquest.server.service.MockRosterGenerator;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockRosterFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_ReturnsWhatWasWritten_WithItsHeader() throws Exception {
+        MockRosterFile file = new MockRosterFile(directory.resolve("roster.bin"));
+        List<MockEmployee> employees = List.of(
+                MockEmployee.builder()
+                        .id(UUID.randomUUID())
+                        .name("Ünal Øster")
+                        .salary(100)
+                        .age(30)
+                        .title("Engineer")
+                        .email("unal@company.com")
+                        .build(),
+                MockEmployee.builder().build());
+        MockRosterFile.Header header = header(MockRosterGenerator.Mode.BULK, 42, employees.size());
+
+        file.write(header, employees);
+
+        assertEquals(Optional.of(new MockRosterFile.Roster(header, employees)), file.read(header::equals));
+    }
+
+    @Test
+    void read_OtherHeader_IsEmpty() throws Exception {
+        MockRosterFile file = new MockRosterFile(directory.resolve("roster.bin"));
+        file.write(header(MockRosterGenerator.Mode.BULK, 42, 0), List.of());
+
+        assertEquals(Optional.empty(), file.read(header(MockRosterGenerator.Mode.BULK, 43, 0)::equals));
+        assertEquals(Optional.empty(), file.read(header(MockRosterGenerator.Mode.FAKER, 42, 0)::equals));
+        assertTrue(file.read(header(MockRosterGenerator.Mode.BULK, 42, 0)::equals).isPresent());
+    }
+
+    @Test
+    void read_MissingOrCorruptFile_IsEmpty() throws Exception {
+        MockRosterFile file = new MockRosterFile(directory.resolve("roster.bin"));
+        assertEquals(Optional.empty(), file.read(header -> true));
+
+        file.write(header(MockRosterGenerator.Mode.BULK, 42, 1), List.of(MockEmployee.builder().name("Alice").build()));
+        byte[] bytes = Files.readAllBytes(file.getPath());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file.getPath(), bytes);
+
+        assertEquals(Optional.empty(), file.read(header -> true));
+    }
+
+    @Test
+    void mockEmployeeStore_FileFromAnotherConfiguration_IsRegeneratedAndRewritten() throws Exception {
+        RosterProperties roster = new RosterProperties();
+        roster.setGenerator(MockRosterGenerator.Mode.BULK);
+        roster.setSeed(42L);
+        roster.setMax(10);
+        roster.setFile(directory.resolve("roster.bin"));
+        store(roster);
+
+        roster.setMax(20);
+        assertEquals(20, store(roster).size());
+        Optional<MockRosterFile.Roster> stored = new MockRosterFile(roster.getFile()).read(header -> true);
+        assertEquals(20, stored.orElseThrow().header().count());
+
+        roster.setSeed(43L);
+        List<MockEmployee> reseeded = store(roster).getEmployees();
+        assertNotEquals(stored.get().employees(), reseeded);
+        assertEquals(43L, new MockRosterFile(roster.getFile()).read(header -> true).orElseThrow().header().seed());
+
+        // without a seed, the stored roster is kept whatever seed it had
+        roster.setSeed(null);
+        assertEquals(reseeded, store(roster).getEmployees());
+    }
+
+    private static MockEmployeeStore store(RosterProperties roster) throws Exception {
+        return new ServerConfiguration(new RateLimitProperties(), roster, new ChangeLogProperties())
+                .mockEmployeeStore();
+    }
+
+    private static MockRosterFile.Header header(MockRosterGenerator.Mode generator, long seed, int count) {
+        return new MockRosterFile.Header(generator, Locale.getDefault().toLanguageTag(), seed, count);
+    }
+}
@@ -0,0 +1,55 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockRosterGenerator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class MockRosterGeneratorTest {
+
+    // several chunks, the last one partial
+    private static final int COUNT = 3 * (1 << 14) + 5;
+
+    @Test
+    void bulk_SameSeed_GivesTheSameRosterWhateverTheParallelism() throws Exception {
+        List<MockEmployee> sequential = generate(1, 42);
+        List<MockEmployee> parallel = generate(4, 42);
+
+        assertEquals(COUNT, sequential.size());
+        assertEquals(sequential, parallel);
+        assertEquals(sequential, new MockRosterGenerator(Locale.US, 42).generate(MockRosterGenerator.Mode.BULK, COUNT));
+        assertEquals(COUNT, new HashSet<>(sequential.stream().map(MockEmployee::getId).toList()).size());
+        assertEquals(COUNT, new HashSet<>(sequential.stream().map(MockEmployee::getEmail).toList()).size());
+    }
+
+    @Test
+    void bulk_OtherSeed_GivesAnotherRoster() throws Exception {
+        assertNotEquals(generate(1, 42), generate(1, 43));
+    }
+
+    @Test
+    void faker_SameSeed_GivesTheSameRoster() {
+        MockRosterGenerator generator = new MockRosterGenerator(Locale.US, 7);
+
+        List<MockEmployee> roster = generator.generate(MockRosterGenerator.Mode.FAKER, 20);
+
+        assertEquals(roster, new MockRosterGenerator(Locale.US, 7).generate(MockRosterGenerator.Mode.FAKER, 20));
+        assertNotEquals(roster, new MockRosterGenerator(Locale.US, 8).generate(MockRosterGenerator.Mode.FAKER, 20));
+    }
+
+    private static List<MockEmployee> generate(int parallelism, long seed) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // a parallel stream started from inside a pool runs its tasks in that pool
+            MockRosterGenerator generator = new MockRosterGenerator(Locale.US, seed);
+            return pool.submit(() -> generator.generate(MockRosterGenerator.Mode.BULK, COUNT)).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.config.RateLimitProperties;
+import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import com.reliaquest.server.web.RequestLimiter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestLimiterTest {
+
+    private static final int LIMIT = 5;
+    private static final Duration PERIOD = Duration.ofSeconds(10);
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+
+    // ------------------------------------------------------------
+    // Policies
+    // ------------------------------------------------------------
+    @ParameterizedTest
+    @EnumSource(RequestLimiter.Policy.class)
+    void acquire_BurstOfExactlyLimit_IsGranted(RequestLimiter.Policy policy) {
+        RequestLimiter limiter = limiter(policy);
+
+        for (int i = 0; i < LIMIT; i++) {
+            long decision = limiter.acquire("client");
+            assertTrue(RequestLimiter.isGranted(decision), "request " + i);
+            assertEquals(LIMIT - i - 1, RequestLimiter.remaining(decision));
+        }
+        assertFalse(RequestLimiter.isGranted(limiter.acquire("client")));
+        assertTrue(RequestLimiter.isGranted(limiter.acquire("other")));
+    }
+
+    @ParameterizedTest
+    @EnumSource(RequestLimiter.Policy.class)
+    void acquire_Refused_RetryAfterIsExactlyWhenARequestSucceeds(RequestLimiter.Policy policy) {
+        RequestLimiter limiter = limiter(policy);
+        burst(limiter);
+        advance(Duration.ofSeconds(1));
+
+        long retryAfter = RequestLimiter.retryAfterNanos(limiter.acquire("client"));
+        long expected = policy == RequestLimiter.Policy.TOKEN_BUCKET
+                // one token back every period / limit
+                ? PERIOD.toNanos() / LIMIT - Duration.ofSeconds(1).toNanos()
+                // the whole burst leaves the window, or the lockout ends, a period after it
+                : PERIOD.toNanos() - Duration.ofSeconds(1).toNanos();
+        assertEquals(expected, retryAfter);
+
+        nanos.addAndGet(retryAfter - 1_000_000);
+        assertFalse(RequestLimiter.isGranted(limiter.acquire("client")));
+        nanos.addAndGet(1_000_000);
+        assertTrue(RequestLimiter.isGranted(limiter.acquire("client")));
+    }
+
+    @ParameterizedTest
+    @EnumSource(RequestLimiter.Policy.class)
+    void acquire_AfterAWholePeriod_GrantsAFullBurstAgain(RequestLimiter.Policy policy) {
+        RequestLimiter limiter = limiter(policy);
+        burst(limiter);
+        advance(PERIOD);
+
+        burst(limiter);
+        assertFalse(RequestLimiter.isGranted(limiter.acquire("client")));
+    }
+
+    @ParameterizedTest
+    @EnumSource(RequestLimiter.Policy.class)
+    void acquire_Concurrently_GrantsExactlyLimit(RequestLimiter.Policy policy) throws Exception {
+        int limit = 100;
+        RequestLimiter limiter = RequestLimiter.create(policy, limit, PERIOD, nanos::get);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> grants = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            grants.add(executor.submit(() -> {
+                start.await();
+                int granted = 0;
+                for (int i = 0; i < 50; i++) {
+                    if (RequestLimiter.isGranted(limiter.acquire("client"))) {
+                        granted++;
+                    }
+                }
+                return granted;
+            }));
+        }
+        start.countDown();
+
+        int granted = 0;
+        for (Future<Integer> future : grants) {
+            granted += future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertEquals(limit, granted);
+    }
+
+    @ParameterizedTest
+    @EnumSource(RequestLimiter.Policy.class)
+    void acquire_IdleClients_AreEvicted(RequestLimiter.Policy policy) {
+        RequestLimiter limiter = limiter(policy);
+        for (int i = 0; i < 100; i++) {
+            burst(limiter, "client " + i);
+        }
+        burst(limiter, "client");
+        assertEquals(101, limiter.clients());
+
+        advance(PERIOD.multipliedBy(2));
+        assertTrue(RequestLimiter.isGranted(limiter.acquire("client")));
+
+        // only the client that just made a request is left
+        assertEquals(1, limiter.clients());
+    }
+
+    @Test
+    void acquire_FixedWindow_UnspentWindowNeverExpires() {
+        RequestLimiter limiter = limiter(RequestLimiter.Policy.FIXED_WINDOW);
+        for (int i = 0; i < LIMIT - 1; i++) {
+            limiter.acquire("client");
+        }
+        advance(PERIOD.multipliedBy(3));
+
+        long last = limiter.acquire("client");
+        assertTrue(RequestLimiter.isGranted(last));
+        assertEquals(0, RequestLimiter.remaining(last));
+        assertEquals(PERIOD.toNanos(), RequestLimiter.retryAfterNanos(limiter.acquire("client")));
+        assertEquals(1, limiter.clients());
+    }
+
+    // ------------------------------------------------------------
+    // Client key
+    // ------------------------------------------------------------
+    @Test
+    void preHandle_KeysByRemoteAddress_IgnoringClientSuppliedIds() {
+        RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor(properties(null));
+
+        assertEquals(200, handle(interceptor, "10.0.0.1", "a").getStatus());
+        MockHttpServletResponse refused = handle(interceptor, "10.0.0.1", "b");
+        assertEquals(429, refused.getStatus());
+        assertNotNull(refused.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, handle(interceptor, "10.0.0.2", "a").getStatus());
+    }
+
+    @Test
+    void preHandle_WithClientHeaderConfigured_KeysByIt() {
+        RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor(properties("X-Client-Id"));
+
+        assertEquals(200, handle(interceptor, "10.0.0.1", "a").getStatus());
+        assertEquals(200, handle(interceptor, "10.0.0.1", "b").getStatus());
+        assertEquals(429, handle(interceptor, "10.0.0.2", "a").getStatus());
+    }
+
+    private RequestLimiter limiter(RequestLimiter.Policy policy) {
+        return RequestLimiter.create(policy, LIMIT, PERIOD, nanos::get);
+    }
+
+    private static void burst(RequestLimiter limiter) {
+        burst(limiter, "client");
+    }
+
+    private static void burst(RequestLimiter limiter, String client) {
+        for (int i = 0; i < LIMIT; i++) {
+            assertTrue(RequestLimiter.isGranted(limiter.acquire(client)), client + " request " + i);
+        }
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private static RateLimitProperties properties(String clientHeader) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLimit(1);
+        properties.setPeriod(Duration.ofMinutes(1));
+        properties.setClientHeader(clientHeader);
+        return properties;
+    }
+
+    private static MockHttpServletResponse handle(
+            RandomRequestLimitInterceptor interceptor, String remoteAddress, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.setRemoteAddr(remoteAddress);
+        request.addHeader("X-Client-Id", clientId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        return response;
+    }
+}